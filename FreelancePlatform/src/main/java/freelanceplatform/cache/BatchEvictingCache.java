@@ -0,0 +1,65 @@
+package freelanceplatform.cache;
+
+import com.hazelcast.map.IMap;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A cache that evicts many keys in one operation and tells fills apart from writes.
+ */
+public interface BatchEvictingCache extends Cache {
+
+    /**
+     * Evicts the entries of the given keys.
+     *
+     * @param keys the keys of the entries
+     */
+    void evictAll(Collection<?> keys);
+
+    /**
+     * Stores a value just loaded from the database. A fill does not change the cached state the way a write does,
+     * so unlike {@link #put} it does not make other nodes drop their copy of the entry.
+     *
+     * @param key   the key of the entry
+     * @param value the loaded value
+     */
+    default void fill(Object key, Object value) {
+        put(key, value);
+    }
+
+    /**
+     * Stores a loaded value in any cache, as a fill where the cache tells fills apart and as a put otherwise.
+     *
+     * @param cache the cache
+     * @param key   the key of the entry
+     * @param value the loaded value
+     */
+    static void fill(Cache cache, Object key, Object value) {
+        if (cache instanceof BatchEvictingCache batch) batch.fill(key, value);
+        else cache.put(key, value);
+    }
+
+    /**
+     * Evicts the entries of the given keys from any cache. A Hazelcast map is sent all deletes at once and awaited
+     * together, so the batch costs one round trip rather than one per key.
+     *
+     * @param cache the cache
+     * @param keys  the keys of the entries
+     */
+    @SuppressWarnings("unchecked")
+    static void evictAll(Cache cache, Collection<?> keys) {
+        if (keys.isEmpty()) return;
+        if (cache instanceof BatchEvictingCache batch) {
+            batch.evictAll(keys);
+        } else if (cache.getNativeCache() instanceof IMap<?, ?> map) {
+            final IMap<Object, Object> entries = (IMap<Object, Object>) map;
+            CompletableFuture.allOf(keys.stream()
+                    .map(key -> entries.removeAsync(key).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)).join();
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+}
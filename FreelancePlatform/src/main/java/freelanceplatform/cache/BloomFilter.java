@@ -0,0 +1,86 @@
+package freelanceplatform.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter, which answers whether a key was added with no false negatives and a bounded rate of
+ * false positives.
+ *
+ * <p>The filter is sized for an expected number of keys and a false positive rate. Each key sets a fixed number of
+ * bits chosen by double hashing a 64-bit hash of the key; strings are hashed by their UTF-8 bytes and every other
+ * key by its {@link Object#hashCode()}. Keys cannot be removed, a filter is rebuilt to forget them.</p>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedKeys      the number of keys the filter is sized for
+     * @param falsePositiveRate the rate of false positives once the expected number of keys was added
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) throw new IllegalArgumentException("Expected keys must be positive");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        final double ln2 = Math.log(2);
+        final long words = Math.max(1, (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2) / Long.SIZE));
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+        this.bitCount = words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key the key, not null
+     */
+    public void add(Object key) {
+        final long hash = hash(key);
+        final long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((bits.get(word) & mask) == 0) bits.getAndAccumulate(word, mask, (current, set) -> current | set);
+        }
+    }
+
+    /**
+     * Tells whether a key may have been added.
+     *
+     * @param key the key, not null
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(Object key) {
+        final long hash = hash(key);
+        final long h1 = hash, h2 = Long.rotateLeft(hash, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private static long hash(Object key) {
+        if (key instanceof String string) {
+            // 64-bit FNV-1a, a 32-bit String hash code would make every colliding pair of keys inseparable
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : string.getBytes(StandardCharsets.UTF_8)) hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            return mix(hash);
+        }
+        return mix(key.hashCode());
+    }
+
+    private static long mix(long hash) {
+        // finalizer of MurmurHash3, spreads every input bit over the whole hash
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
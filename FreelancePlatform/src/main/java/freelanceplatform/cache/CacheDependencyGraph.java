@@ -0,0 +1,126 @@
+package freelanceplatform.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Declares which cache entries depend on an entity, so that a change of the entity evicts all of them.
+ *
+ * <p>Every edge maps an entity type to the keys of one cache, either a single key read from the entity, such as the
+ * id of the customer of a task, or a collection of keys, such as the ids of the tasks of a user. Null keys are
+ * skipped, so optional references need no special handling. Collections of keys may be looked up, for example by a
+ * query, so callers can tell whether the dependents of some entities need one. The keys of many changed entities are
+ * collected into one set per cache, which is then evicted as a batch.</p>
+ */
+public class CacheDependencyGraph {
+
+    private final List<Edge<?>> edges;
+
+    private CacheDependencyGraph(List<Edge<?>> edges) {
+        this.edges = List.copyOf(edges);
+    }
+
+    /**
+     * @return a builder of an empty graph
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects the keys of every entry depending on an entity.
+     *
+     * @param entity      the changed entity
+     * @param keysByCache the keys collected so far by the name of their cache, to which the keys are added
+     */
+    public void collect(Object entity, Map<String, Set<Object>> keysByCache) {
+        for (Edge<?> edge : edges) edge.collect(entity, keysByCache);
+    }
+
+    /**
+     * Returns the keys of every entry depending on the given entities.
+     *
+     * @param entities the changed entities
+     * @return the keys by the name of their cache
+     */
+    public Map<String, Set<Object>> dependents(Collection<?> entities) {
+        final Map<String, Set<Object>> keysByCache = new LinkedHashMap<>();
+        entities.forEach(entity -> collect(entity, keysByCache));
+        return keysByCache;
+    }
+
+    /**
+     * Tells whether finding the dependents of the given entities looks up a collection of keys.
+     *
+     * @param entities the changed entities
+     * @return true if any entity has an edge declared by {@link Builder#evictAll}
+     */
+    public boolean needsLookup(Collection<?> entities) {
+        return edges.stream().anyMatch(edge -> edge.lookup() && entities.stream().anyMatch(edge.type()::isInstance));
+    }
+
+    private record Edge<E>(Class<E> type, String cache, boolean lookup,
+                           Function<? super E, ? extends Collection<?>> keys) {
+
+        private void collect(Object entity, Map<String, Set<Object>> keysByCache) {
+            if (!type.isInstance(entity)) return;
+            final Collection<?> found = keys.apply(type.cast(entity));
+            if (found == null) return;
+            found.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(key -> keysByCache.computeIfAbsent(cache, name -> new LinkedHashSet<>()).add(key));
+        }
+    }
+
+    /**
+     * Builder of a {@link CacheDependencyGraph}.
+     */
+    public static final class Builder {
+
+        private final List<Edge<?>> edges = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Declares that an entry of a cache depends on every entity of a type.
+         *
+         * @param type  the type of the entity
+         * @param cache the name of the cache
+         * @param key   reads the key of the entry from the entity, may return null
+         * @return this builder
+         */
+        public <E> Builder evict(Class<E> type, String cache, Function<? super E, ?> key) {
+            edges.add(new Edge<E>(type, cache, false, entity -> Collections.singletonList(key.apply(entity))));
+            return this;
+        }
+
+        /**
+         * Declares that several entries of a cache depend on every entity of a type.
+         *
+         * @param type  the type of the entity
+         * @param cache the name of the cache
+         * @param keys  finds the keys of the entries for the entity, for example by a query
+         * @return this builder
+         */
+        public <E> Builder evictAll(Class<E> type, String cache, Function<? super E, ? extends Collection<?>> keys) {
+            edges.add(new Edge<>(type, cache, true, keys));
+            return this;
+        }
+
+        /**
+         * @return the graph of the declared edges
+         */
+        public CacheDependencyGraph build() {
+            return new CacheDependencyGraph(edges);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package freelanceplatform.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Tells the other nodes to drop an entry from the local level of a cache.
+ *
+ * @param cache the name of the cache
+ * @param key   the key of the entry, a {@link Batch} of keys, or null to drop the whole cache
+ */
+public record CacheInvalidation(String cache, Object key) implements Serializable {
+
+    /**
+     * Several keys invalidated together, published as one message.
+     *
+     * @param keys the keys of the entries
+     */
+    public record Batch(Collection<?> keys) implements Serializable {
+    }
+}
@@ -0,0 +1,74 @@
+package freelanceplatform.cache;
+
+import com.hazelcast.map.LocalMapStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Binds the statistics of an {@link InstrumentedCache} to Micrometer under the standard cache meter names,
+ * {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size}, plus the memory cost of
+ * the entries this node owns and the size of the local level.
+ */
+public class CacheMetrics extends CacheMeterBinder<InstrumentedCache> {
+
+    public CacheMetrics(InstrumentedCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        final LocalMapStats stats = getCache() == null ? null : getCache().mapStats();
+        return stats == null ? null : stats.getOwnedEntryCount();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache() == null ? 0 : getCache().hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache() == null ? null : getCache().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache() == null ? null : getCache().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache() == null ? 0 : getCache().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        final InstrumentedCache cache = getCache();
+        if (cache == null) return;
+        memoryGauge(registry, cache, "owned", LocalMapStats::getOwnedEntryMemoryCost);
+        memoryGauge(registry, cache, "backup", LocalMapStats::getBackupEntryMemoryCost);
+        if (cache.localSize() != null) {
+            Gauge.builder("cache.local.size", cache, c -> c.localSize())
+                    .tags(getTagsWithCacheName())
+                    .description("Number of entries in the local level of this node")
+                    .register(registry);
+        }
+    }
+
+    private void memoryGauge(MeterRegistry registry, InstrumentedCache cache, String ownership,
+                             ToDoubleFunction<LocalMapStats> memoryCost) {
+        Gauge.builder("cache.entry.memory", cache, c -> {
+                    final LocalMapStats stats = c.mapStats();
+                    return stats == null ? Double.NaN : memoryCost.applyAsDouble(stats);
+                })
+                .tags(getTagsWithCacheName())
+                .tag("ownership", ownership)
+                .description("Memory cost of the entries of the shared level held by this node")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
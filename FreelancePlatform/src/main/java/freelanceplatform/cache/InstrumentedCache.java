@@ -0,0 +1,176 @@
+package freelanceplatform.cache;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import freelanceplatform.dto.CacheStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache that counts hits, misses, puts and evictions and times the loads of missing entries.
+ *
+ * <p>It is the outermost layer of every cache of {@link TwoLevelCacheManager}, so it counts what the services see:
+ * a hit of the local level and a hit of Hazelcast are both hits. A caller that shared the load of another caller
+ * did not load and counts as a hit. Entry counts and memory cost are taken from the local statistics of the
+ * Hazelcast map, which only cover the entries this node owns.</p>
+ */
+public class InstrumentedCache implements BatchEvictingCache {
+
+    private final Cache delegate;
+    private final TwoLevelCache twoLevelCache;
+    private final Counter coalesced;
+    private final Timer loads;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate      the cache to instrument
+     * @param twoLevelCache the two-level cache inside the delegate, or null if the cache has no local level
+     * @param coalesced     the counter of loads spared by the delegate
+     * @param loads         the timer of loads on a miss
+     */
+    public InstrumentedCache(Cache delegate, TwoLevelCache twoLevelCache, Counter coalesced, Timer loads) {
+        this.delegate = delegate;
+        this.twoLevelCache = twoLevelCache;
+        this.coalesced = coalesced;
+        this.loads = loads;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return counted(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return counted(delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final boolean[] loaded = {false};
+        final T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return loads.recordCallable(valueLoader);
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        BatchEvictingCache.fill(delegate, key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) puts.increment();
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        evictions.increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        final boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) evictions.increment();
+        return evicted;
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        BatchEvictingCache.evictAll(delegate, keys);
+        evictions.add(keys.size());
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the local statistics of the Hazelcast map behind the cache, or null if it is not backed by a map
+     */
+    public LocalMapStats mapStats() {
+        return getNativeCache() instanceof IMap<?, ?> map ? map.getLocalMapStats() : null;
+    }
+
+    /**
+     * @return the number of entries in the local level, or null if the cache has no local level
+     */
+    public Long localSize() {
+        return twoLevelCache == null ? null : twoLevelCache.localSize();
+    }
+
+    /**
+     * Takes the current statistics of the cache.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics statistics() {
+        final long hitCount = hitCount(), missCount = missCount();
+        final LocalMapStats mapStats = mapStats();
+        return new CacheStatistics(getName(), hitCount, missCount,
+                hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount),
+                putCount(), evictionCount(), loads.count(), loads.mean(TimeUnit.MILLISECONDS), (long) coalesced.count(),
+                mapStats == null ? null : mapStats.getOwnedEntryCount(),
+                mapStats == null ? null : mapStats.getOwnedEntryMemoryCost(),
+                localSize());
+    }
+
+    private <T> T counted(T value) {
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+}
@@ -0,0 +1,179 @@
+package freelanceplatform.cache;
+
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache that loads a missing entry only once however many callers miss it at the same time.
+ *
+ * <p>Backs {@code @Cacheable(sync = true)}: the first caller to miss a key loads it, every other caller of this node
+ * that misses the same key meanwhile waits for and shares that load. With a cluster lock timeout, the loading caller
+ * also holds the Hazelcast lock of the key while it loads, so that callers on other nodes wait as well and then find
+ * the loaded entry; a lock not acquired within the timeout is given up and the entry loaded anyway. Loaded nulls are
+ * returned but not cached, so missing ids keep being looked up. Every load a caller was spared is counted.</p>
+ */
+@Slf4j
+public class SingleFlightCache implements BatchEvictingCache {
+
+    private final Cache delegate;
+    private final Duration clusterLockTimeout;
+    private final Counter coalesced;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate           the cache entries are read from and written to
+     * @param clusterLockTimeout how long to wait for the Hazelcast lock of a key, or null to coalesce on this node only
+     * @param coalesced          counts the loads callers were spared
+     */
+    public SingleFlightCache(Cache delegate, Duration clusterLockTimeout, Counter coalesced) {
+        this.delegate = delegate;
+        this.clusterLockTimeout = clusterLockTimeout;
+        this.coalesced = coalesced;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final ValueWrapper cached = delegate.get(key);
+        if (cached != null) return (T) cached.get();
+        final CompletableFuture<Object> load = new CompletableFuture<>();
+        final CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(key, running);
+        }
+        try {
+            final Object value = loadOnce(key, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        if (clusterLockTimeout == null || !(delegate.getNativeCache() instanceof IMap<?, ?> map)) {
+            return load(key, valueLoader);
+        }
+        final IMap<Object, Object> entries = (IMap<Object, Object>) map;
+        final boolean locked = tryLock(entries, key);
+        try {
+            // another node may have loaded the entry while this one waited for the lock
+            final ValueWrapper cached = locked ? delegate.get(key) : null;
+            if (cached != null) {
+                coalesced.increment();
+                return cached.get();
+            }
+            return load(key, valueLoader);
+        } finally {
+            if (locked) entries.unlock(key);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        final Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) BatchEvictingCache.fill(delegate, key, value);
+        return value;
+    }
+
+    private boolean tryLock(IMap<Object, Object> entries, Object key) {
+        try {
+            final boolean locked = entries.tryLock(key, clusterLockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!locked) log.warn("Loading {} of cache {} without the cluster lock", key, getName());
+            return locked;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Object await(Object key, CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException("Loading " + key + " failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        BatchEvictingCache.fill(delegate, key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        BatchEvictingCache.evictAll(delegate, keys);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,157 @@
+package freelanceplatform.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A cache with a bounded on-heap level of this node in front of the shared Hazelcast level.
+ *
+ * <p>Reads are served from the local level when possible and fill it from the shared level otherwise. Writes go to
+ * the shared level first, then to the local level, and are finally announced so that the other nodes drop their
+ * local copy. Values loaded on a miss are filled into both levels without an announcement, as the copies other nodes
+ * hold are still valid. The local level holds values as they are and shares them between callers, which is safe because only
+ * immutable snapshots are cached. An invalidation that overtakes a concurrent load on another node may leave a stale
+ * copy there; the time to live of the local level bounds how long it is served.</p>
+ */
+public class TwoLevelCache implements BatchEvictingCache {
+
+    private final Cache shared;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final Consumer<Object> invalidations;
+
+    /**
+     * @param shared        the Hazelcast level
+     * @param local         the on-heap level of this node
+     * @param invalidations announces a changed key to the other nodes, a {@link CacheInvalidation.Batch} announces
+     *                      several keys evicted together and a null key announces a cleared cache
+     */
+    public TwoLevelCache(Cache shared, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local,
+                         Consumer<Object> invalidations) {
+        this.shared = shared;
+        this.local = local;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public String getName() {
+        return shared.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        final ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) return cached;
+        final ValueWrapper loaded = shared.get(key);
+        if (loaded != null) local.put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        final ValueWrapper wrapper = get(key);
+        final Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value))
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) return (T) cached.get();
+        final T value = shared.get(key, valueLoader);
+        local.put(key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+        invalidations.accept(key);
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        shared.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final ValueWrapper existing = shared.putIfAbsent(key, value);
+        local.invalidate(key);
+        if (existing == null) invalidations.accept(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        local.invalidate(key);
+        invalidations.accept(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        final boolean evicted = shared.evictIfPresent(key);
+        local.invalidate(key);
+        invalidations.accept(key);
+        return evicted;
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) return;
+        BatchEvictingCache.evictAll(shared, keys);
+        local.invalidateAll(keys);
+        invalidations.accept(new CacheInvalidation.Batch(new ArrayList<>(keys)));
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        local.invalidateAll();
+        invalidations.accept(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = shared.invalidate();
+        local.invalidateAll();
+        invalidations.accept(null);
+        return invalidated;
+    }
+
+    /**
+     * Drops an entry from the local level only, on an invalidation announced by another node.
+     *
+     * @param key the key of the entry, a {@link CacheInvalidation.Batch} of keys, or null to drop every entry
+     */
+    public void invalidateLocal(Object key) {
+        if (key == null) local.invalidateAll();
+        else if (key instanceof CacheInvalidation.Batch batch) local.invalidateAll(batch.keys());
+        else local.invalidate(key);
+    }
+
+    /**
+     * Returns the number of entries in the local level.
+     *
+     * @return the estimated local size
+     */
+    public long localSize() {
+        return local.estimatedSize();
+    }
+}
@@ -0,0 +1,131 @@
+package freelanceplatform.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import freelanceplatform.config.CachingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Puts a {@link TwoLevelCache} with a local level in front of every cache of the shared Hazelcast cache manager.
+ *
+ * <p>Every write or eviction is published on a Hazelcast topic and every node drops the entry from its local level
+ * when it receives an invalidation published by another node. Caches whose local level is disabled only have the
+ * shared level. Every cache is wrapped in a {@link SingleFlightCache}, so concurrent misses of the same key are
+ * loaded once; the loads spared are counted by the {@code cache.loads.coalesced} meter of each cache. The outermost
+ * layer is an {@link InstrumentedCache}, whose statistics are bound to Micrometer by {@link CacheMetrics}.</p>
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    /**
+     * Name of the Hazelcast topic invalidations are published on.
+     */
+    public static final String INVALIDATION_TOPIC = "cache-invalidations";
+
+    private final CacheManager shared;
+    private final CachingProperties properties;
+    private final ITopic<CacheInvalidation> topic;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager shared, CachingProperties properties, ITopic<CacheInvalidation> topic,
+                                MeterRegistry meterRegistry) {
+        this.shared = shared;
+        this.properties = properties;
+        this.topic = topic;
+        this.meterRegistry = meterRegistry;
+        topic.addMessageListener(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return shared.getCacheNames();
+    }
+
+    /**
+     * Returns the instrumented cache of a name, creating it if necessary.
+     *
+     * @param name the name of the cache
+     * @return the cache, or null if the shared cache manager has no cache of the name
+     */
+    public InstrumentedCache getInstrumentedCache(String name) {
+        return (InstrumentedCache) getCache(name);
+    }
+
+    /**
+     * Evicts the entries of many keys of several caches at once. Each cache deletes its keys from Hazelcast together
+     * and announces them to the other nodes in one message.
+     *
+     * @param keysByCache the keys to evict by the name of their cache
+     */
+    public void evictAll(Map<String, ? extends Collection<?>> keysByCache) {
+        keysByCache.forEach((name, keys) -> {
+            final Cache cache = getCache(name);
+            if (cache != null) BatchEvictingCache.evictAll(cache, keys);
+        });
+    }
+
+    private Cache createCache(String name) {
+        final Cache cache = shared.getCache(name);
+        if (cache == null) return null;
+        final CachingProperties.SingleFlight singleFlight = properties.singleFlight();
+        final Duration clusterLockTimeout = singleFlight.clusterLock() ? singleFlight.lockTimeout() : null;
+        final Counter coalesced = Counter.builder("cache.loads.coalesced")
+                .description("Number of cache loads spared because a concurrent load of the same key was shared")
+                .tag("cache", name)
+                .register(meterRegistry);
+        final Timer loads = Timer.builder("cache.loads")
+                .description("Time taken to load a missing entry")
+                .tag("cache", name)
+                .register(meterRegistry);
+        final TwoLevelCache twoLevelCache = withLocalLevel(name, cache);
+        final InstrumentedCache instrumented = new InstrumentedCache(
+                new SingleFlightCache(twoLevelCache == null ? cache : twoLevelCache, clusterLockTimeout, coalesced),
+                twoLevelCache, coalesced, loads);
+        new CacheMetrics(instrumented, List.of()).bindTo(meterRegistry);
+        return instrumented;
+    }
+
+    private TwoLevelCache withLocalLevel(String name, Cache cache) {
+        final CachingProperties.LocalCache local = properties.of(name).local();
+        if (!local.enabled()) return null;
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(local.maxSize());
+        if (local.timeToLive() != null && !local.timeToLive().isZero()) builder.expireAfterWrite(local.timeToLive());
+        final TwoLevelCache twoLevelCache =
+                new TwoLevelCache(cache, builder.build(), key -> topic.publish(new CacheInvalidation(name, key)));
+        twoLevelCaches.put(name, twoLevelCache);
+        return twoLevelCache;
+    }
+
+    private void onInvalidation(Message<CacheInvalidation> message) {
+        final Member publisher = message.getPublishingMember();
+        // the publishing node already updated its own local level
+        if (publisher != null && publisher.localMember()) return;
+        final CacheInvalidation invalidation = message.getMessageObject();
+        final TwoLevelCache cache = twoLevelCaches.get(invalidation.cache());
+        if (cache != null) {
+            log.debug("Dropping {} from local level of cache {}", invalidation.key(), invalidation.cache());
+            cache.invalidateLocal(invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package freelanceplatform.config;
+
+import com.hazelcast.config.CacheSimpleConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.DurationConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.TimedExpiryPolicyFactoryConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.TimedExpiryPolicyFactoryConfig.ExpiryPolicyType;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size, eviction and expiry of both levels of the caches, bound from {@code caching.*}.
+ *
+ * @param defaults     settings of every cache not listed under {@code caches}
+ * @param caches       settings per cache name
+ * @param hibernate    settings of the Hibernate second-level and query cache
+ * @param singleFlight settings of coalescing concurrent loads of the same entry
+ */
+@ConfigurationProperties("caching")
+public record CachingProperties(@DefaultValue Cache defaults, Map<String, Cache> caches,
+                                @DefaultValue HibernateCache hibernate, @DefaultValue SingleFlight singleFlight) {
+
+    public CachingProperties {
+        caches = caches == null ? Map.of() : Map.copyOf(caches);
+    }
+
+    /**
+     * Returns the settings of a cache.
+     *
+     * @param name the name of the cache
+     * @return the settings of the cache, or the defaults if it has none of its own
+     */
+    public Cache of(String name) {
+        return caches.getOrDefault(name, defaults);
+    }
+
+    /**
+     * Settings of one cache. A missing or zero duration never expires entries.
+     *
+     * @param maxSize        maximum number of entries per cluster member
+     * @param evictionPolicy which entries to evict once the map is full, LRU or LFU
+     * @param timeToLive     how long an entry lives after it was last written
+     * @param maxIdle        how long an entry lives after it was last read or written
+     * @param nearCache      the near-cache in front of the map
+     * @param local          the on-heap cache of this node in front of Hazelcast
+     */
+    public record Cache(@DefaultValue("10000") int maxSize,
+                        @DefaultValue("LRU") EvictionPolicy evictionPolicy,
+                        Duration timeToLive,
+                        Duration maxIdle,
+                        @DefaultValue NearCache nearCache,
+                        @DefaultValue LocalCache local) {
+
+        /**
+         * Creates the configuration of the map backing the cache.
+         *
+         * @param name the name of the cache, {@code default} for the fallback of all unlisted caches
+         * @return the map configuration
+         */
+        public MapConfig toMapConfig(String name) {
+            final MapConfig mapConfig = new MapConfig(name)
+                    .setTimeToLiveSeconds(seconds(timeToLive))
+                    .setMaxIdleSeconds(seconds(maxIdle));
+            mapConfig.getEvictionConfig()
+                    .setEvictionPolicy(evictionPolicy)
+                    .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                    .setSize(maxSize);
+            if (nearCache.enabled()) mapConfig.setNearCacheConfig(nearCache.toNearCacheConfig(name));
+            return mapConfig;
+        }
+    }
+
+    /**
+     * Settings of the near-cache, which keeps entries read from other members on the reading member.
+     * Entries are kept in serialized form by default, so every hit hands out a copy that callers may modify.
+     *
+     * @param enabled            whether the map has a near-cache
+     * @param invalidateOnChange whether writes on any member invalidate the entry in every near-cache
+     * @param inMemoryFormat     whether entries are kept serialized or as objects
+     * @param maxSize            maximum number of entries per member
+     * @param evictionPolicy     which entries to evict once the near-cache is full, LRU or LFU
+     * @param timeToLive         how long an entry stays in the near-cache after it was fetched
+     * @param maxIdle            how long an entry stays in the near-cache after it was last read
+     */
+    public record NearCache(boolean enabled,
+                            @DefaultValue("true") boolean invalidateOnChange,
+                            @DefaultValue("BINARY") InMemoryFormat inMemoryFormat,
+                            @DefaultValue("1000") int maxSize,
+                            @DefaultValue("LRU") EvictionPolicy evictionPolicy,
+                            Duration timeToLive,
+                            Duration maxIdle) {
+
+        private NearCacheConfig toNearCacheConfig(String name) {
+            return new NearCacheConfig(name)
+                    .setInvalidateOnChange(invalidateOnChange)
+                    .setInMemoryFormat(inMemoryFormat)
+                    .setTimeToLiveSeconds(seconds(timeToLive))
+                    .setMaxIdleSeconds(seconds(maxIdle))
+                    .setEvictionConfig(new EvictionConfig()
+                            .setEvictionPolicy(evictionPolicy)
+                            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                            .setSize(maxSize));
+        }
+    }
+
+    /**
+     * Settings of the on-heap cache every node keeps in front of Hazelcast.
+     * Entries are held as objects and shared between callers, so only immutable values belong there.
+     *
+     * @param enabled    whether the cache has a local level
+     * @param maxSize    maximum number of entries on this node
+     * @param timeToLive how long an entry stays after it was loaded, which bounds staleness if an invalidation is missed
+     */
+    public record LocalCache(@DefaultValue("true") boolean enabled,
+                             @DefaultValue("1000") int maxSize,
+                             @DefaultValue("PT1M") Duration timeToLive) {
+    }
+
+    /**
+     * Settings of coalescing concurrent loads of a missing entry into one load.
+     *
+     * @param clusterLock whether loads are also coalesced across the cluster by holding the Hazelcast lock of the key
+     * @param lockTimeout how long to wait for the Hazelcast lock before loading without it
+     */
+    public record SingleFlight(boolean clusterLock,
+                               @DefaultValue("PT5S") Duration lockTimeout) {
+    }
+
+    /**
+     * Settings of the Hibernate second-level cache, which keeps loaded entities and collections, and of the query
+     * cache, which keeps the results of the task board queries. Both are JCache caches of the Hazelcast member.
+     *
+     * @param enabled         whether Hibernate caches entities, collections and board query results
+     * @param maxSize         maximum number of entries per member of each entity and collection region
+     * @param timeToLive      how long an entity or collection stays after it was cached
+     * @param queryMaxSize    maximum number of cached query results per member
+     * @param queryTimeToLive how long a query result stays after it was cached
+     */
+    public record HibernateCache(boolean enabled,
+                                 @DefaultValue("10000") int maxSize,
+                                 @DefaultValue("PT30M") Duration timeToLive,
+                                 @DefaultValue("1000") int queryMaxSize,
+                                 @DefaultValue("PT5M") Duration queryTimeToLive) {
+
+        /**
+         * Creates the configuration of the Hazelcast caches backing the Hibernate regions. The update timestamps
+         * region never expires, a query result whose tables lost their timestamp would be served stale.
+         *
+         * @return the cache configurations
+         */
+        public List<CacheSimpleConfig> toCacheConfigs() {
+            return List.of(
+                    cacheConfig(HibernateCacheConfig.ENTITY_REGIONS, maxSize, timeToLive),
+                    cacheConfig(HibernateCacheConfig.QUERY_RESULTS_REGION, queryMaxSize, queryTimeToLive),
+                    cacheConfig(HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION, 10000, null));
+        }
+
+        private static CacheSimpleConfig cacheConfig(String name, int maxSize, Duration timeToLive) {
+            final CacheSimpleConfig config = new CacheSimpleConfig()
+                    .setName(name)
+                    .setEvictionConfig(new EvictionConfig()
+                            .setEvictionPolicy(EvictionPolicy.LRU)
+                            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                            .setSize(maxSize));
+            if (timeToLive != null && !timeToLive.isZero()) {
+                config.setExpiryPolicyFactoryConfig(new ExpiryPolicyFactoryConfig(new TimedExpiryPolicyFactoryConfig(
+                        ExpiryPolicyType.CREATED, new DurationConfig(timeToLive.toSeconds(), TimeUnit.SECONDS))));
+            }
+            return config;
+        }
+    }
+
+    private static int seconds(Duration duration) {
+        return duration == null ? 0 : Math.toIntExact(duration.toSeconds());
+    }
+}
@@ -0,0 +1,52 @@
+package freelanceplatform.config;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import freelanceplatform.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastConfigCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CachingProperties.class)
+public class HazelcastConfig {
+
+    /**
+     * Adds the map configuration of every cache to the configuration loaded from {@code hazelcast.yaml}.
+     * Caches without their own settings fall back to the {@code default} map configuration.
+     * Cached snapshots are stored in Compact format. The caches of the Hibernate regions are added if the
+     * second-level cache is enabled.
+     *
+     * @param properties the cache settings
+     * @return the customizer of the Hazelcast configuration
+     */
+    @Bean
+    public HazelcastConfigCustomizer cacheConfigCustomizer(CachingProperties properties) {
+        return config -> {
+            config.addMapConfig(properties.defaults().toMapConfig("default"));
+            properties.caches().forEach((name, cache) -> config.addMapConfig(cache.toMapConfig(name)));
+            final CompactSerializationConfig compact = config.getSerializationConfig().getCompactSerializationConfig();
+            SnapshotSerializers.all().forEach(compact::addSerializer);
+            if (properties.hibernate().enabled()) properties.hibernate().toCacheConfigs().forEach(config::addCacheConfig);
+        };
+    }
+
+    /**
+     * Creates the cache manager used by the caching annotations, which puts an on-heap level of this node in front of
+     * every Hazelcast cache and invalidates it on all nodes through a Hazelcast topic. Concurrent misses of the same
+     * key are loaded once.
+     *
+     * @param hazelcast     the Hazelcast member of this node
+     * @param properties    the cache settings
+     * @param meterRegistry the registry of the coalesced load counters
+     * @return the two-level cache manager
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(HazelcastInstance hazelcast, CachingProperties properties, MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(new HazelcastCacheManager(hazelcast), properties,
+                hazelcast.getTopic(TwoLevelCacheManager.INVALIDATION_TOPIC), meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package freelanceplatform.config;
+
+import com.hazelcast.cache.HazelcastCachingProvider;
+import com.hazelcast.cache.HazelcastMemberCachingProvider;
+import com.hazelcast.core.HazelcastInstance;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+/**
+ * Enables the Hibernate second-level and query cache on top of the Hazelcast member of this node,
+ * if {@code caching.hibernate.enabled} is set, and switches both off otherwise, whatever the entities are annotated with.
+ *
+ * <p>The snapshot caches only serve lookups by id, whereas the second-level cache also serves the associations
+ * Hibernate loads on its own, such as the sender of a feedback or the freelancer of a proposal. Entities and
+ * collections are cached read-write, so a cached entry is locked while a transaction changes it and is never
+ * served stale afterwards. Bulk updates invalidate the whole region of the entity they change. Collections on the
+ * inverse side of an association are evicted whenever the owning side changes, even if the service only updated
+ * the owning side. The results of the filtered task board queries, the only board pages still read from the
+ * database, are kept in the query cache until one of the tables they read changes.</p>
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Regions of the cached entities and collections, which Hibernate names after the entity class and role.
+     */
+    public static final String ENTITY_REGIONS = "freelanceplatform.model.*";
+
+    /**
+     * Region of the cached query results.
+     */
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    /**
+     * Region of the last update time of every table, which tells whether a cached query result is still valid.
+     */
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Points the JCache region factory of Hibernate at the Hazelcast member of this node instead of starting
+     * a member of its own.
+     *
+     * @param hazelcast the Hazelcast member of this node
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    @ConditionalOnProperty(name = "caching.hibernate.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(HazelcastInstance hazelcast) {
+        final CacheManager cacheManager = Caching.getCachingProvider(HazelcastMemberCachingProvider.class.getName())
+                .getCacheManager(null, null, HazelcastCachingProvider.propertiesByInstanceItself(hazelcast));
+        return properties -> {
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+
+    /**
+     * Keeps the {@code @Cacheable} entities and the cacheable queries out of any cache while the Hibernate cache
+     * is disabled.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    @ConditionalOnProperty(name = "caching.hibernate.enabled", havingValue = "false", matchIfMissing = true)
+    public HibernatePropertiesCustomizer noSecondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.NONE);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+}
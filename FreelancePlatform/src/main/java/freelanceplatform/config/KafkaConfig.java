@@ -1,78 +1,41 @@
 package freelanceplatform.config;
 
+import freelanceplatform.kafka.topics.TaskChangesTopic;
+import freelanceplatform.kafka.topics.UserChangesTopic;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
 
-import static freelanceplatform.kafka.topics.TaskChangesTopic.*;
-import static freelanceplatform.kafka.topics.UserChangesTopic.UserCreated;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 @Configuration
+@EnableConfigurationProperties(KafkaTopicsProperties.class)
 public class KafkaConfig {
 
     /**
-     * Creates kafka topic for user creation
-     * @return
-     */
-    @Bean
-    public NewTopic userCreatedTopic() {
-        return TopicBuilder.name(UserCreated.name())
-                .build();
-    }
-
-    /**
-     * Creates kafka topic for new task creation
-     * @return
-     */
-    @Bean
-    public NewTopic taskPostedTopic() {
-        return TopicBuilder.name(TaskPosted.name())
-                .build();
-    }
-
-    /**
-     * Creates Kafka topic for freelancer assignment.
+     * Creates every task and user change topic under the name events are sent to, with the partitions and replicas
+     * configured for it. Topics that exist with fewer partitions are given more.
      *
-     * @return a new {@link NewTopic} instance for the freelancer assignment topic
+     * @param properties the topic settings
+     * @return the change topics
      */
     @Bean
-    public NewTopic freelancerAssignedTopic(){
-        return TopicBuilder.name(FreelancerAssigned.name())
-                .build();
+    public KafkaAdmin.NewTopics changeTopics(KafkaTopicsProperties properties) {
+        return new KafkaAdmin.NewTopics(Stream.concat(
+                        Arrays.stream(TaskChangesTopic.values()).map(TaskChangesTopic::toString),
+                        Arrays.stream(UserChangesTopic.values()).map(UserChangesTopic::toString))
+                .map(name -> topic(name, properties.of(name)))
+                .toArray(NewTopic[]::new));
     }
 
-    /**
-     * Creates Kafka topic for task acceptance.
-     *
-     * @return a new {@link NewTopic} instance for the task acceptance topic
-     */
-    @Bean
-    public NewTopic TaskAcceptedTopic(){
-        return TopicBuilder.name(TaskAccepted.name())
-                .build();
-    }
-
-    /**
-     * Creates Kafka topic for freelancer removal.
-     *
-     * @return a new {@link NewTopic} instance for the freelancer removal topic
-     */
-    @Bean
-    public NewTopic freelancerRemovedTopic(){
-        return TopicBuilder.name(FreelancerRemoved.name())
-                .build();
-    }
-
-    /**
-     * Creates Kafka topic for sending tasks for review.
-     *
-     * @return a new {@link NewTopic} instance for the task review topic
-     */
-    @Bean
-    public NewTopic taskSendOnReviewTopic(){
-        return TopicBuilder.name(TaskSendOnReview.name())
+    private static NewTopic topic(String name, KafkaTopicsProperties.Topic settings) {
+        return TopicBuilder.name(name)
+                .partitions(settings.partitions())
+                .replicas(settings.replicas())
                 .build();
     }
 }
@@ -0,0 +1,41 @@
+package freelanceplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Partitions and replicas of the change topics, bound from {@code kafka.topics.*}.
+ *
+ * @param defaults  settings of every topic not listed under {@code overrides}
+ * @param overrides settings per topic name, such as {@code task_posted}
+ */
+@ConfigurationProperties("kafka.topics")
+public record KafkaTopicsProperties(@DefaultValue Topic defaults, Map<String, Topic> overrides) {
+
+    public KafkaTopicsProperties {
+        overrides = overrides == null ? Map.of() : Map.copyOf(overrides);
+    }
+
+    /**
+     * Returns the settings of a topic.
+     *
+     * @param name the name of the topic
+     * @return the settings of the topic, or the defaults if it has none of its own
+     */
+    public Topic of(String name) {
+        return overrides.getOrDefault(name, defaults);
+    }
+
+    /**
+     * Settings of one topic. Events are keyed by the ID of their entity, so more partitions let more consumers
+     * share a topic while the events of one entity stay in order. Adding partitions to an existing topic moves keys
+     * to other partitions, so events published around the change may be consumed out of order.
+     *
+     * @param partitions number of partitions
+     * @param replicas   number of replicas of every partition
+     */
+    public record Topic(@DefaultValue("6") int partitions, @DefaultValue("1") short replicas) {
+    }
+}
@@ -0,0 +1,215 @@
+package freelanceplatform.config;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import freelanceplatform.dto.snapshot.*;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+
+import java.util.List;
+
+/**
+ * Compact serializers of the snapshots held by the caches.
+ *
+ * <p>Compact serialization writes the schema of a type once per cluster instead of once per entry, and reads
+ * fields by offset instead of through reflection, so entries are smaller and much cheaper to (de)serialize than
+ * with Java serialization. Registered serializers take precedence over {@link java.io.Serializable}.
+ * Enums are written by name, so reordering their constants never corrupts cached entries.</p>
+ */
+public final class SnapshotSerializers {
+
+    private SnapshotSerializers() {
+    }
+
+    /**
+     * Returns the serializers of all snapshot types.
+     *
+     * @return the serializers to register
+     */
+    public static List<CompactSerializer<?>> all() {
+        return List.of(new TaskSnapshotSerializer(), new UserSnapshotSerializer(), new ProposalSnapshotSerializer(),
+                new FeedbackSnapshotSerializer(), new SolutionSnapshotSerializer());
+    }
+
+    static final class TaskSnapshotSerializer implements CompactSerializer<TaskSnapshot> {
+
+        @Override
+        public TaskSnapshot read(CompactReader reader) {
+            return new TaskSnapshot(
+                    reader.readNullableInt32("id"),
+                    reader.readString("customerUsername"),
+                    reader.readString("freelancerUsername"),
+                    reader.readString("title"),
+                    reader.readString("problem"),
+                    reader.readTimestamp("deadline"),
+                    reader.readNullableFloat64("payment"),
+                    readEnum(TaskType.class, reader.readString("type")),
+                    readEnum(TaskStatus.class, reader.readString("status")),
+                    reader.readTimestamp("postedDate"),
+                    reader.readBoolean("expired"),
+                    reader.readTimestamp("updatedAt"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, TaskSnapshot task) {
+            writer.writeNullableInt32("id", task.id());
+            writer.writeString("customerUsername", task.customerUsername());
+            writer.writeString("freelancerUsername", task.freelancerUsername());
+            writer.writeString("title", task.title());
+            writer.writeString("problem", task.problem());
+            writer.writeTimestamp("deadline", task.deadline());
+            writer.writeNullableFloat64("payment", task.payment());
+            writer.writeString("type", writeEnum(task.type()));
+            writer.writeString("status", writeEnum(task.status()));
+            writer.writeTimestamp("postedDate", task.postedDate());
+            writer.writeBoolean("expired", task.expired());
+            writer.writeTimestamp("updatedAt", task.updatedAt());
+        }
+
+        @Override
+        public String getTypeName() {
+            return "TaskSnapshot";
+        }
+
+        @Override
+        public Class<TaskSnapshot> getCompactClass() {
+            return TaskSnapshot.class;
+        }
+    }
+
+    static final class UserSnapshotSerializer implements CompactSerializer<UserSnapshot> {
+
+        @Override
+        public UserSnapshot read(CompactReader reader) {
+            return new UserSnapshot(
+                    reader.readNullableInt32("id"),
+                    reader.readString("username"),
+                    reader.readString("firstName"),
+                    reader.readString("lastName"),
+                    reader.readString("email"),
+                    reader.readInt32("rating"),
+                    readEnum(Role.class, reader.readString("role")));
+        }
+
+        @Override
+        public void write(CompactWriter writer, UserSnapshot user) {
+            writer.writeNullableInt32("id", user.id());
+            writer.writeString("username", user.username());
+            writer.writeString("firstName", user.firstName());
+            writer.writeString("lastName", user.lastName());
+            writer.writeString("email", user.email());
+            writer.writeInt32("rating", user.rating());
+            writer.writeString("role", writeEnum(user.role()));
+        }
+
+        @Override
+        public String getTypeName() {
+            return "UserSnapshot";
+        }
+
+        @Override
+        public Class<UserSnapshot> getCompactClass() {
+            return UserSnapshot.class;
+        }
+    }
+
+    static final class ProposalSnapshotSerializer implements CompactSerializer<ProposalSnapshot> {
+
+        @Override
+        public ProposalSnapshot read(CompactReader reader) {
+            return new ProposalSnapshot(
+                    reader.readNullableInt32("id"),
+                    reader.readNullableInt32("freelancerId"),
+                    reader.readNullableInt32("taskId"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, ProposalSnapshot proposal) {
+            writer.writeNullableInt32("id", proposal.id());
+            writer.writeNullableInt32("freelancerId", proposal.freelancerId());
+            writer.writeNullableInt32("taskId", proposal.taskId());
+        }
+
+        @Override
+        public String getTypeName() {
+            return "ProposalSnapshot";
+        }
+
+        @Override
+        public Class<ProposalSnapshot> getCompactClass() {
+            return ProposalSnapshot.class;
+        }
+    }
+
+    static final class FeedbackSnapshotSerializer implements CompactSerializer<FeedbackSnapshot> {
+
+        @Override
+        public FeedbackSnapshot read(CompactReader reader) {
+            return new FeedbackSnapshot(
+                    reader.readNullableInt32("id"),
+                    reader.readNullableInt32("senderId"),
+                    reader.readNullableInt32("receiverId"),
+                    reader.readNullableInt32("rating"),
+                    reader.readString("comment"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, FeedbackSnapshot feedback) {
+            writer.writeNullableInt32("id", feedback.id());
+            writer.writeNullableInt32("senderId", feedback.senderId());
+            writer.writeNullableInt32("receiverId", feedback.receiverId());
+            writer.writeNullableInt32("rating", feedback.rating());
+            writer.writeString("comment", feedback.comment());
+        }
+
+        @Override
+        public String getTypeName() {
+            return "FeedbackSnapshot";
+        }
+
+        @Override
+        public Class<FeedbackSnapshot> getCompactClass() {
+            return FeedbackSnapshot.class;
+        }
+    }
+
+    static final class SolutionSnapshotSerializer implements CompactSerializer<SolutionSnapshot> {
+
+        @Override
+        public SolutionSnapshot read(CompactReader reader) {
+            return new SolutionSnapshot(
+                    reader.readNullableInt32("id"),
+                    reader.readNullableInt32("taskId"),
+                    reader.readString("link"),
+                    reader.readString("description"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, SolutionSnapshot solution) {
+            writer.writeNullableInt32("id", solution.id());
+            writer.writeNullableInt32("taskId", solution.taskId());
+            writer.writeString("link", solution.link());
+            writer.writeString("description", solution.description());
+        }
+
+        @Override
+        public String getTypeName() {
+            return "SolutionSnapshot";
+        }
+
+        @Override
+        public Class<SolutionSnapshot> getCompactClass() {
+            return SolutionSnapshot.class;
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static String writeEnum(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
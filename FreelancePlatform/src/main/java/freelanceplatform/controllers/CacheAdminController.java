@@ -0,0 +1,75 @@
+package freelanceplatform.controllers;
+
+import freelanceplatform.dto.CacheStatistics;
+import freelanceplatform.services.CacheAdminService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for administering the snapshot caches of this node.
+ * Statistics are those of the node serving the request; clearing a cache clears it on all nodes.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/rest/admin/caches")
+public class CacheAdminController {
+
+    private final CacheAdminService cacheAdminService;
+
+    /**
+     * Retrieves the statistics of every snapshot cache.
+     *
+     * @return the statistics, one per cache
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<CacheStatistics> getAll() {
+        return cacheAdminService.statistics();
+    }
+
+    /**
+     * Retrieves the statistics of a snapshot cache.
+     *
+     * @param name the name of the cache
+     * @return the statistics, or 404 if there is no cache of the name
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CacheStatistics getByName(@PathVariable String name) {
+        return cacheAdminService.statistics(name);
+    }
+
+    /**
+     * Removes every entry of a snapshot cache.
+     *
+     * @param name the name of the cache
+     * @return 204, or 404 if there is no cache of the name
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> clear(@PathVariable String name) {
+        cacheAdminService.clear(name);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Loads the snapshots of the given ids into a snapshot cache.
+     *
+     * @param name the name of the cache
+     * @param ids  the ids of the entities to cache
+     * @return the statistics of the warmed cache, or 404 if there is no cache of the name
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/{name}/warm", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public CacheStatistics warm(@PathVariable String name, @RequestBody List<Integer> ids) {
+        cacheAdminService.warm(name, ids);
+        return cacheAdminService.statistics(name);
+    }
+}
@@ -7,6 +7,7 @@ import freelanceplatform.model.Feedback;
 import freelanceplatform.model.User;
 import freelanceplatform.model.security.UserDetails;
 import freelanceplatform.services.FeedbackService;
+import freelanceplatform.services.SnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -32,6 +33,7 @@ import static org.springframework.http.HttpStatus.FORBIDDEN;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final SnapshotService snapshotService;
     private final Mapper mapper;
 
     private final static ResponseEntity<Void> FORBIDDEN1 = new ResponseEntity<>(FORBIDDEN);
@@ -45,7 +47,7 @@ public class FeedbackController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<FeedbackReadUpdate> findById(@PathVariable Integer id) {
-        return feedbackService.findById(id)
+        return snapshotService.findFeedback(id)
                 .map(fb -> ResponseEntity
                         .ok(mapper.toFeedbackReadUpdate(fb)))
                 .orElse(ResponseEntity.notFound().build());
@@ -7,6 +7,7 @@ import freelanceplatform.model.Proposal;
 import freelanceplatform.model.User;
 import freelanceplatform.model.security.UserDetails;
 import freelanceplatform.services.ProposalService;
+import freelanceplatform.services.SnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -32,6 +33,7 @@ import static org.springframework.http.HttpStatus.FORBIDDEN;
 public class ProposalController {
 
     private final ProposalService proposalService;
+    private final SnapshotService snapshotService;
     private final Mapper mapper;
 
     private final static ResponseEntity<Void> FORBIDDEN1 = new ResponseEntity<>(FORBIDDEN);
@@ -45,7 +47,7 @@ public class ProposalController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProposalReadUpdate> findById(@PathVariable Integer id) {
-        return proposalService.findById(id)
+        return snapshotService.findProposal(id)
                 .map(pr -> ResponseEntity.ok(mapper.toProposalReadUpdate(pr)))
                 .orElse(ResponseEntity.notFound().build());
     }
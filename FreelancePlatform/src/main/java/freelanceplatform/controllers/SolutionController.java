@@ -7,6 +7,7 @@ import freelanceplatform.model.Solution;
 import freelanceplatform.model.User;
 import freelanceplatform.model.security.UserDetails;
 import freelanceplatform.services.SolutionService;
+import freelanceplatform.services.SnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -27,6 +28,7 @@ import java.util.Objects;
 public class SolutionController {
 
     private final SolutionService solutionService;
+    private final SnapshotService snapshotService;
     private final Mapper mapper;
 
     /**
@@ -53,7 +55,7 @@ public class SolutionController {
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<SolutionReadUpdate> getById(@PathVariable Integer id) {
-        return solutionService.findById(id)
+        return snapshotService.findSolution(id)
                 .map(solution -> ResponseEntity.ok(mapper.toSolutionReadUpdate(solution))).orElse(ResponseEntity.notFound().build());
     }
 
@@ -1,27 +1,46 @@
 package freelanceplatform.controllers;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import freelanceplatform.dto.Mapper;
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFacets;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.TaskBoardSort;
 import freelanceplatform.dto.creation.TaskCreation;
 import freelanceplatform.dto.readUpdate.TaskReadUpdate;
 import freelanceplatform.model.*;
 import freelanceplatform.model.security.UserDetails;
+import freelanceplatform.services.SnapshotService;
 import freelanceplatform.services.TaskService;
 import freelanceplatform.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 
 @Slf4j
@@ -32,8 +51,14 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskService taskService;
+    private final SnapshotService snapshotService;
     private final UserService userService;
     private final Mapper mapper;
+    private final ObjectMapper objectMapper;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
 
     /**
      * Saves a new task based on the provided TaskCreationDTO.
@@ -57,31 +82,145 @@ public class TaskController {
 
     /**
      * Retrieves a task by its ID.
+     * The response carries a strong {@code ETag} and {@code Last-Modified}, a matching conditional request gets
+     * 304 Not Modified with no body written. The tag also hashes the usernames of the customer and the freelancer,
+     * which a rename changes without touching the task.
      *
      * @param id the ID of the task
      * @return ResponseEntity with the task data or 404 if not found
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TaskReadUpdate> getById(@PathVariable Integer id) {
-        return taskService.findById(id)
-                .map(task -> ResponseEntity.ok(mapper.toTaskReadUpdate(task))).orElse(ResponseEntity.notFound().build());
+        return snapshotService.findTask(id)
+                .map(task -> ResponseEntity.ok()
+                        .eTag(task.id() + "-" + task.updatedAt().toEpochSecond(ZoneOffset.UTC) + "." + task.updatedAt().getNano()
+                                + "-" + Integer.toHexString(Objects.hash(task.customerUsername(), task.freelancerUsername())))
+                        .lastModified(task.updatedAt().atZone(ZoneId.systemDefault()))
+                        .body(mapper.toTaskReadUpdate(task)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Retrieves all tasks based on specified filters.
+     * Retrieves one page of the task board based on specified filters.
+     * If more tasks follow, the response carries a {@code Link} header with {@code rel="next"}.
      *
-     * @param fromNewest Whether to sort tasks from newest to oldest.
-     * @param type       Optional parameter to filter tasks by type.
+     * @param fromNewest   Whether to sort tasks from the highest value to the lowest, used when no direction is given.
+     * @param direction    Optional sort direction.
+     * @param sort         Sort key, one of {@code postedDate}, {@code deadline} or {@code payment}.
+     * @param type         Optional parameter to filter tasks by one or more types.
+     * @param paymentMin   Optional lowest payment.
+     * @param paymentMax   Optional highest payment.
+     * @param deadlineFrom Optional earliest deadline.
+     * @param deadlineTo   Optional latest deadline.
+     * @param cursor       Optional opaque cursor taken from the previous page's next link.
+     * @param size         Optional page size, capped at {@value #MAX_PAGE_SIZE}.
      * @return ResponseEntity containing a list of TaskDTOs.
      */
     @GetMapping(value = "/taskBoard", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Iterable<TaskReadUpdate>> getAllTaskBoard(@RequestParam boolean fromNewest,
-                                                                    @RequestParam(required = false) TaskType type) {
-        List<Task> tasks = Optional.ofNullable(type)
-                .map(t -> taskService.findAllTaskBoardByTypeAndPostedDate(t, fromNewest))
-                .orElseGet(() -> taskService.findAllTaskBoardByPostedDate(fromNewest));
-        List<TaskReadUpdate> taskReadUpdates = tasks.stream().map(mapper::toTaskReadUpdate).toList();
-        return ResponseEntity.ok(taskReadUpdates);
+    public ResponseEntity<Iterable<TaskReadUpdate>> getAllTaskBoard(@RequestParam(defaultValue = "true") boolean fromNewest,
+                                                                    @RequestParam(required = false) Sort.Direction direction,
+                                                                    @RequestParam(defaultValue = "postedDate") String sort,
+                                                                    @RequestParam(required = false) Set<TaskType> type,
+                                                                    @RequestParam(required = false) Double paymentMin,
+                                                                    @RequestParam(required = false) Double paymentMax,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    WebRequest request) {
+        final int limit = Math.min(Math.max(Optional.ofNullable(size).orElse(DEFAULT_PAGE_SIZE), 1), MAX_PAGE_SIZE);
+        final TaskBoardFilter filter = new TaskBoardFilter(type, paymentMin, paymentMax, deadlineFrom, deadlineTo,
+                TaskBoardSort.of(sort), Optional.ofNullable(direction).map(Sort.Direction::isDescending).orElse(fromNewest));
+
+        // only index pages have a version; it is read before the page, so a change in between costs one more full response
+        final String eTag = filter.isPlain() ? "\"board-" + taskService.getTaskBoardVersion() + "\"" : null;
+        if (eTag != null && request.checkNotModified(eTag)) return null;
+
+        final TaskBoardCursor after = Optional.ofNullable(cursor)
+                .filter(c -> !c.isBlank())
+                .map(TaskBoardCursor::decode)
+                .orElse(null);
+
+        // one extra row tells whether a next page exists without a count query
+        List<TaskReadUpdate> taskReadUpdates = taskService.findTaskBoardPage(filter, after, limit + 1);
+        final boolean hasNext = taskReadUpdates.size() > limit;
+        if (!hasNext) return ResponseEntity.ok().headers(eTagHeaders(eTag)).body(taskReadUpdates);
+        taskReadUpdates = taskReadUpdates.subList(0, limit);
+
+        final String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", TaskBoardCursor.after(filter.sort(), taskReadUpdates.get(limit - 1)).encode())
+                .replaceQueryParam("size", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .headers(eTagHeaders(eTag))
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(taskReadUpdates);
+    }
+
+    /**
+     * Retrieves the numbers of open tasks per type and per status.
+     *
+     * @return ResponseEntity containing the task board facets.
+     */
+    @GetMapping(value = "/taskBoard/facets", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TaskBoardFacets> getTaskBoardFacets() {
+        return ResponseEntity.ok(taskService.getTaskBoardFacets());
+    }
+
+    /**
+     * Streams the whole task board as newline-delimited JSON, one task per line.
+     *
+     * @param fromNewest Whether to sort tasks from newest to oldest.
+     * @return ResponseEntity streaming TaskDTOs.
+     */
+    @GetMapping(value = "/taskBoard/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTaskBoard(@RequestParam(defaultValue = "true") boolean fromNewest) {
+        return ndjson(sink -> taskService.streamAllTaskBoardByPostedDate(fromNewest, sink));
+    }
+
+    /**
+     * Streams all tasks as newline-delimited JSON, one task per line.
+     *
+     * @return ResponseEntity streaming TaskDTOs.
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ndjson(taskService::streamAll);
+    }
+
+    /**
+     * Searches tasks by title and problem, best matches first.
+     * If more results follow, the response carries a {@code Link} header with {@code rel="next"}.
+     *
+     * @param q      Full-text query in web search syntax.
+     * @param type   Optional parameter to filter tasks by type.
+     * @param status Optional parameter to filter tasks by status.
+     * @param page   Optional zero-based page number.
+     * @param size   Optional page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return ResponseEntity containing a list of TaskDTOs.
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Iterable<TaskReadUpdate>> search(@RequestParam String q,
+                                                           @RequestParam(required = false) TaskType type,
+                                                           @RequestParam(required = false) TaskStatus status,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(required = false) Integer size) {
+        final int limit = Math.min(Math.max(Optional.ofNullable(size).orElse(DEFAULT_PAGE_SIZE), 1), MAX_PAGE_SIZE);
+        final int from = Math.max(page, 0);
+
+        // one extra row tells whether a next page exists without a count query
+        final List<Task> tasks = taskService.search(q, type, status, (long) from * limit, limit + 1);
+        final List<TaskReadUpdate> taskReadUpdates = tasks.stream().limit(limit).map(mapper::toTaskReadUpdate).toList();
+        if (tasks.size() <= limit) return ResponseEntity.ok(taskReadUpdates);
+
+        final String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", from + 1)
+                .replaceQueryParam("size", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(taskReadUpdates);
     }
 
     /**
@@ -97,11 +236,9 @@ public class TaskController {
     public ResponseEntity<Iterable<TaskReadUpdate>> getAllTakenByTaskStatusAndExpiredStatus(@RequestParam(required = false) TaskStatus taskStatus,
                                                                                             @RequestParam boolean expired, Authentication auth) {
         User user = ((UserDetails) auth.getPrincipal()).getUser();
-        List<Task> tasks = Optional.ofNullable(taskStatus)
+        List<TaskReadUpdate> taskReadUpdates = Optional.ofNullable(taskStatus)
                 .map(t -> taskService.findAllTakenByUserIdAndStatusAndDeadlineStatus(user.getId(), t, expired))
                 .orElseGet(() -> taskService.findAllTakenByUserIdAndDeadlineStatus(user.getId(), expired));
-
-        List<TaskReadUpdate> taskReadUpdates = tasks.stream().map(mapper::toTaskReadUpdate).toList();
         return ResponseEntity.ok(taskReadUpdates);
     }
 
@@ -118,10 +255,9 @@ public class TaskController {
     public ResponseEntity<Iterable<TaskReadUpdate>> getAllPostedByTaskStatusAndExpiredStatus(@RequestParam(required = false) TaskStatus taskStatus, @RequestParam boolean expired, Authentication auth) {
         User user = ((UserDetails) auth.getPrincipal()).getUser();
 
-        List<Task> tasks = Optional.ofNullable(taskStatus)
+        List<TaskReadUpdate> taskReadUpdates = Optional.ofNullable(taskStatus)
                 .map(t -> taskService.findAllPostedByUserIdAndStatusAndExpiredStatus(user.getId(), t, expired))
-                .orElseGet(() -> taskService.findAllPostedByUserIdAndStatusAndExpiredStatus(user.getId(), taskStatus, expired));
-        List<TaskReadUpdate> taskReadUpdates = tasks.stream().map(mapper::toTaskReadUpdate).toList();
+                .orElseGet(() -> taskService.findAllPostedByUserIdAndExpiredStatus(user.getId(), expired));
         return ResponseEntity.ok(taskReadUpdates);
     }
 
@@ -237,6 +373,38 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Writes the tasks a source emits as newline-delimited JSON straight to the response.
+     * The source runs once the response is committed, so no task list is ever held in memory.
+     *
+     * @param source the source emitting task DTOs to a sink
+     * @return ResponseEntity streaming the tasks
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<TaskReadUpdate>> source) {
+        final ObjectWriter writer = objectMapper.writerFor(TaskReadUpdate.class);
+        final StreamingResponseBody body = out -> source.accept(task -> {
+            try {
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * Creates the headers carrying an optional entity tag.
+     *
+     * @param eTag the entity tag, or null if the response has none
+     * @return the headers
+     */
+    private HttpHeaders eTagHeaders(String eTag) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) headers.setETag(eTag);
+        return headers;
+    }
+
     /**
      * Checks if the authenticated user has access to the given task.
      *
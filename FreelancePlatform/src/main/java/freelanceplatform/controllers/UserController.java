@@ -9,6 +9,7 @@ import freelanceplatform.model.Resume;
 import freelanceplatform.model.User;
 import freelanceplatform.model.security.UserDetails;
 import freelanceplatform.services.UserService;
+import freelanceplatform.services.SnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -37,6 +38,7 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final SnapshotService snapshotService;
     private final Mapper mapper;
 
     /**
@@ -47,7 +49,7 @@ public class UserController {
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<UserReadUpdate> getUserById(@PathVariable Integer id) {
-        return userService.findById(id)
+        return snapshotService.findUser(id)
                 .map(user -> ResponseEntity.ok(mapper.toReadUser(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
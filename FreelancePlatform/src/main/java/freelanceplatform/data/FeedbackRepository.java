@@ -1,11 +1,15 @@
 package freelanceplatform.data;
 
+import freelanceplatform.dto.snapshot.FeedbackSnapshot;
 import freelanceplatform.model.Feedback;
 import freelanceplatform.model.User;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FeedbackRepository extends CrudRepository<Feedback, Integer> {
@@ -32,4 +36,24 @@ public interface FeedbackRepository extends CrudRepository<Feedback, Integer> {
      * @return a list of {@link Feedback} entities sent by the given user
      */
     List<Feedback> findBySender(User sender);
+
+    /**
+     * Finds the cacheable snapshot of a feedback without loading the feedback entity or its associations.
+     *
+     * @param id the ID of the feedback
+     * @return an {@link Optional} containing the snapshot if the feedback exists
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.FeedbackSnapshot(f.id, s.id, r.id, f.rating, f.comment) " +
+            "from Feedback f left join f.sender s left join f.receiver r where f.id = :id")
+    Optional<FeedbackSnapshot> findSnapshotById(Integer id);
+
+    /**
+     * Finds the cacheable snapshots of several feedbacks in one query, to warm the feedback cache.
+     *
+     * @param ids the IDs of the feedbacks
+     * @return the snapshots of the feedbacks that exist, in no particular order
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.FeedbackSnapshot(f.id, s.id, r.id, f.rating, f.comment) " +
+            "from Feedback f left join f.sender s left join f.receiver r where f.id in :ids")
+    List<FeedbackSnapshot> findSnapshotsByIdIn(Collection<Integer> ids);
 }
@@ -0,0 +1,58 @@
+package freelanceplatform.data;
+
+import freelanceplatform.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends CrudRepository<OutboxEvent, Integer> {
+
+    /**
+     * Value of the lock timeout hint that skips locked rows, {@code LockOptions.SKIP_LOCKED}.
+     */
+    String SKIP_LOCKED = "-2";
+
+    /**
+     * Finds and locks the oldest unsent events. Events locked by another relay are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}), so several relays share the outbox without waiting for each other.
+     *
+     * @param pageable the number of events to find
+     * @return the oldest unsent events not locked by another transaction, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query(value = "select e from OutboxEvent e where e.sentAt is null order by e.id")
+    List<OutboxEvent> findUnsentForUpdate(Pageable pageable);
+
+    /**
+     * Marks events as sent.
+     *
+     * @param ids    the IDs of the events
+     * @param sentAt when the events were sent
+     * @return the number of events marked
+     */
+    @Modifying
+    @Query(value = "update OutboxEvent e set e.sentAt = :sentAt where e.id in :ids")
+    int markSent(Collection<Integer> ids, LocalDateTime sentAt);
+
+    /**
+     * Deletes the events sent before the given time.
+     *
+     * @param before the time before which sent events are deleted
+     * @return the number of events deleted
+     */
+    @Modifying
+    @Query(value = "delete from OutboxEvent e where e.sentAt < :before")
+    int deleteSentBefore(LocalDateTime before);
+}
@@ -1,10 +1,15 @@
 package freelanceplatform.data;
 
+import freelanceplatform.dto.snapshot.ProposalSnapshot;
 import freelanceplatform.model.Proposal;
+import freelanceplatform.model.TaskStatus;
 import freelanceplatform.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +30,44 @@ public interface ProposalRepository extends CrudRepository<Proposal, Integer> {
      * @return a list of {@link Proposal} entities associated with the given freelancer
      */
     List<Proposal> findByFreelancer(User freelancer);
+
+    /**
+     * Finds the cacheable snapshot of a proposal without loading the proposal entity or its associations.
+     *
+     * @param id the ID of the proposal
+     * @return an {@link Optional} containing the snapshot if the proposal exists
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.ProposalSnapshot(p.id, p.freelancer.id, p.task.id) " +
+            "from Proposal p where p.id = :id")
+    Optional<ProposalSnapshot> findSnapshotById(Integer id);
+
+    /**
+     * Finds the cacheable snapshots of several proposals in one query, to warm the proposal cache.
+     *
+     * @param ids the IDs of the proposals
+     * @return the snapshots of the proposals that exist, in no particular order
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.ProposalSnapshot(p.id, p.freelancer.id, p.task.id) " +
+            "from Proposal p where p.id in :ids")
+    List<ProposalSnapshot> findSnapshotsByIdIn(Collection<Integer> ids);
+
+    /**
+     * Finds the ids of the proposals on open tasks with the given status, to warm the proposal cache.
+     *
+     * @param status   the status of the tasks
+     * @param pageable the number of ids to find
+     * @return the ids of the proposals on tasks with the status whose deadline has not passed
+     */
+    @Query(value = "select p.id from Proposal p join p.task t where t.status = :status and t.expired = false " +
+            "order by t.postedDate desc")
+    List<Integer> findIdsOnOpenTasks(TaskStatus status, Pageable pageable);
+
+    /**
+     * Finds the ids of the proposals of a freelancer.
+     *
+     * @param freelancerId the ID of the freelancer
+     * @return the ids of the proposals of the freelancer
+     */
+    @Query(value = "select p.id from Proposal p where p.freelancer.id = :freelancerId")
+    List<Integer> findIdsByFreelancerId(Integer freelancerId);
 }
@@ -1,12 +1,19 @@
 package freelanceplatform.data;
 
+import freelanceplatform.dto.snapshot.SolutionSnapshot;
 import freelanceplatform.model.Solution;
 import freelanceplatform.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SolutionRepository extends CrudRepository<Solution, Integer> {
@@ -26,4 +33,33 @@ public interface SolutionRepository extends CrudRepository<Solution, Integer> {
      */
     List<Solution> findAll();
 
+    /**
+     * Finds the cacheable snapshot of a solution without loading the solution entity or its task.
+     *
+     * @param id the ID of the solution
+     * @return an {@link Optional} containing the snapshot if the solution exists
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.SolutionSnapshot(s.id, t.id, s.link, s.description) " +
+            "from Solution s left join s.task t where s.id = :id")
+    Optional<SolutionSnapshot> findSnapshotById(Integer id);
+
+    /**
+     * Finds the cacheable snapshots of several solutions in one query, to warm the solution cache.
+     *
+     * @param ids the IDs of the solutions
+     * @return the snapshots of the solutions that exist, in no particular order
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.SolutionSnapshot(s.id, t.id, s.link, s.description) " +
+            "from Solution s left join s.task t where s.id in :ids")
+    List<SolutionSnapshot> findSnapshotsByIdIn(Collection<Integer> ids);
+
+    /**
+     * Streams the ids of all solutions, to fill the existence filter of solutions.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all solution ids
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    @Query(value = "select s.id from Solution s")
+    Stream<Integer> streamIds();
 }
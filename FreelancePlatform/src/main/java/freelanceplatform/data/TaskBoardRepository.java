@@ -0,0 +1,23 @@
+package freelanceplatform.data;
+
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+
+import java.util.List;
+
+/**
+ * Task board queries built from a {@link TaskBoardFilter}, implemented by {@link TaskBoardRepositoryImpl}.
+ */
+public interface TaskBoardRepository {
+
+    /**
+     * Finds one page of unassigned tasks matching the filter, ordered by its sort key and id.
+     *
+     * @param filter the criteria and order of the board
+     * @param after  the position of the last task on the previous page, or null for the first page
+     * @param limit  the maximum number of tasks to return
+     * @return a page of tasks in board order
+     */
+    List<TaskReadUpdate> findBoardPage(TaskBoardFilter filter, TaskBoardCursor after, int limit);
+}
@@ -0,0 +1,82 @@
+package freelanceplatform.data;
+
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.TaskBoardSort;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static freelanceplatform.data.TaskRepository.READ_UPDATE;
+import static freelanceplatform.data.TaskRepository.READ_UPDATE_JOINS;
+
+/**
+ * Builds task board queries from the shape of a {@link TaskBoardFilter}.
+ *
+ * <p>The query text only depends on which criteria are present, the sort key, the direction and whether the page
+ * continues from a cursor; the values are bound as parameters. The text of every shape is built once and, being
+ * the key of Hibernate's query interpretation cache, is parsed and translated to SQL only once as well. Pages are
+ * kept in the query cache if the Hibernate cache is enabled, until the task or user table changes.</p>
+ */
+public class TaskBoardRepositoryImpl implements TaskBoardRepository {
+
+    private final Map<Shape, String> queries = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TaskReadUpdate> findBoardPage(TaskBoardFilter filter, TaskBoardCursor after, int limit) {
+        final Shape shape = Shape.of(filter, after != null);
+        final TypedQuery<TaskReadUpdate> query = em.createQuery(queries.computeIfAbsent(shape, Shape::toQuery), TaskReadUpdate.class)
+                .setParameter("status", TaskStatus.UNASSIGNED)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
+        if (shape.types()) query.setParameter("types", filter.types());
+        if (shape.paymentMin()) query.setParameter("paymentMin", filter.paymentMin());
+        if (shape.paymentMax()) query.setParameter("paymentMax", filter.paymentMax());
+        if (shape.deadlineFrom()) query.setParameter("deadlineFrom", filter.deadlineFrom());
+        if (shape.deadlineTo()) query.setParameter("deadlineTo", filter.deadlineTo());
+        if (shape.after()) {
+            query.setParameter("afterValue", after.value());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Everything the query text of a filter depends on.
+     */
+    private record Shape(boolean types, boolean paymentMin, boolean paymentMax, boolean deadlineFrom,
+                         boolean deadlineTo, TaskBoardSort sort, boolean descending, boolean after) {
+
+        private static Shape of(TaskBoardFilter filter, boolean after) {
+            return new Shape(!filter.types().isEmpty(), filter.paymentMin() != null, filter.paymentMax() != null,
+                    filter.deadlineFrom() != null, filter.deadlineTo() != null, filter.sort(), filter.descending(), after);
+        }
+
+        private String toQuery() {
+            final String key = "t." + sort.attribute();
+            final String comparison = descending ? " < " : " > ";
+            final String direction = descending ? " desc" : "";
+            final StringBuilder query = new StringBuilder("select ").append(READ_UPDATE)
+                    .append(" from Task t ").append(READ_UPDATE_JOINS)
+                    .append(" where t.status = :status and t.expired = false");
+            if (types) query.append(" and t.type in :types");
+            if (paymentMin) query.append(" and t.payment >= :paymentMin");
+            if (paymentMax) query.append(" and t.payment <= :paymentMax");
+            if (deadlineFrom) query.append(" and t.deadline >= :deadlineFrom");
+            if (deadlineTo) query.append(" and t.deadline <= :deadlineTo");
+            if (after) query.append(" and (").append(key).append(comparison).append(":afterValue")
+                    .append(" or (").append(key).append(" = :afterValue and t.id").append(comparison).append(":afterId))");
+            return query.append(" order by ").append(key).append(direction).append(", t.id").append(direction).toString();
+        }
+    }
+}
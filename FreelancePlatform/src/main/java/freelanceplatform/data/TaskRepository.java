@@ -1,133 +1,336 @@
 package freelanceplatform.data;
 
+import freelanceplatform.dto.TaskDeadline;
+import freelanceplatform.dto.TaskFacet;
+import freelanceplatform.dto.TaskFacetCount;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
 import freelanceplatform.model.Task;
 import freelanceplatform.model.TaskStatus;
 import freelanceplatform.model.TaskType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends CrudRepository<Task, Integer> {
+public interface TaskRepository extends CrudRepository<Task, Integer>, TaskBoardRepository {
+
+    /**
+     * Selects a task listing row straight into a {@link TaskReadUpdate}, so listings never hydrate task or user entities.
+     */
+    String READ_UPDATE = "new freelanceplatform.dto.readUpdate.TaskReadUpdate(" +
+            "t.id, c.username, f.username, t.title, t.problem, t.deadline, t.payment, t.type, t.status, t.postedDate, t.expired)";
+
+    /**
+     * Joins the users whose usernames {@link #READ_UPDATE} selects.
+     */
+    String READ_UPDATE_JOINS = "left join t.customer c left join t.freelancer f";
+
+    /**
+     * Number of rows the streaming queries fetch from the database at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    //SNAPSHOTS
+    /**
+     * Finds the cacheable snapshot of a task without loading the task entity or its users.
+     *
+     * @param id the ID of the task
+     * @return an {@link Optional} containing the snapshot if the task exists
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.TaskSnapshot(t.id, c.username, f.username, t.title, t.problem, " +
+            "t.deadline, t.payment, t.type, t.status, t.postedDate, t.expired, t.updatedAt) " +
+            "from Task t " + READ_UPDATE_JOINS + " where t.id = :id")
+    Optional<TaskSnapshot> findSnapshotById(Integer id);
+
+    /**
+     * Finds the cacheable snapshots of several tasks in one query, to warm the task cache.
+     *
+     * @param ids the IDs of the tasks
+     * @return the snapshots of the tasks that exist, in no particular order
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.TaskSnapshot(t.id, c.username, f.username, t.title, t.problem, " +
+            "t.deadline, t.payment, t.type, t.status, t.postedDate, t.expired, t.updatedAt) " +
+            "from Task t " + READ_UPDATE_JOINS + " where t.id in :ids")
+    List<TaskSnapshot> findSnapshotsByIdIn(Collection<Integer> ids);
 
     //TASK BOARD
     /**
-     * Finds all tasks with the given status, ordered by the posted date from newest to oldest.
+     * Finds all tasks with the given status that have not expired, ordered by the posted date from newest to oldest.
      *
      * @param status the status of the tasks to retrieve
      * @return a list of tasks with the given status, ordered by posted date from newest to oldest
      */
-    @Query(value = "select t from Task t where t.status = :status order by t.postedDate desc")
-    List<Task> findAllByStatusFromNewest(TaskStatus status);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false order by t.postedDate desc")
+    List<TaskReadUpdate> findAllByStatusFromNewest(TaskStatus status);
 
     /**
-     * Finds all tasks with the given status, ordered by the posted date from oldest to newest.
+     * Finds all tasks with the given status that have not expired, ordered by the posted date from oldest to newest.
      *
      * @param status the status of the tasks to retrieve
      * @return a list of tasks with the given status, ordered by posted date from oldest to newest
      */
-    @Query(value = "select t from Task t where t.status = :status order by t.postedDate")
-    List<Task> findAllByStatusFromOldest(TaskStatus status);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false order by t.postedDate")
+    List<TaskReadUpdate> findAllByStatusFromOldest(TaskStatus status);
 
     /**
-     * Finds all tasks with the given type and status, ordered by the posted date from newest to oldest.
+     * Finds all tasks with the given type and status that have not expired, ordered by the posted date from newest to oldest.
      *
      * @param type   the type of the tasks to retrieve
      * @param status the status of the tasks to retrieve
      * @return a list of tasks with the given type and status, ordered by posted date from newest to oldest
      */
-    @Query(value = "select t from Task t where t.type = :type and t.status = :status order by t.postedDate desc")
-    List<Task> findAllByTypeAndStatusFromNewest(TaskType type, TaskStatus status);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.type = :type and t.status = :status and t.expired = false order by t.postedDate desc")
+    List<TaskReadUpdate> findAllByTypeAndStatusFromNewest(TaskType type, TaskStatus status);
 
     /**
-     * Finds all tasks with the given type and status, ordered by the posted date from oldest to newest.
+     * Finds all tasks with the given type and status that have not expired, ordered by the posted date from oldest to newest.
      *
      * @param type   the type of the tasks to retrieve
      * @param status the status of the tasks to retrieve
      * @return a list of tasks with the given type and status, ordered by posted date from oldest to newest
      */
-    @Query(value = "select t from Task t where t.type = :type and t.status = :status order by t.postedDate")
-    List<Task> findAllByTypeAndStatusFromOldest(TaskType type, TaskStatus status);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.type = :type and t.status = :status and t.expired = false order by t.postedDate")
+    List<TaskReadUpdate> findAllByTypeAndStatusFromOldest(TaskType type, TaskStatus status);
+
+    //TASK BOARD INDEX
+    /**
+     * Finds the first page of tasks with the given status that have not expired, ordered from oldest to newest.
+     *
+     * @param status   the status of the tasks to retrieve
+     * @param pageable the page size, the offset is always expected to be zero
+     * @return a page of tasks ordered by posted date and id from oldest to newest
+     */
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false order by t.postedDate, t.id")
+    List<TaskReadUpdate> findBoardPageFromOldest(TaskStatus status, Pageable pageable);
+
+    /**
+     * Finds the page of tasks with the given status that have not expired and follow the given keyset position, ordered from oldest to newest.
+     *
+     * @param status     the status of the tasks to retrieve
+     * @param postedDate the posted date of the last task on the previous page
+     * @param id         the id of the last task on the previous page
+     * @param pageable   the page size, the offset is always expected to be zero
+     * @return a page of tasks ordered by posted date and id from oldest to newest
+     */
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false " +
+            "and (t.postedDate > :postedDate or (t.postedDate = :postedDate and t.id > :id)) " +
+            "order by t.postedDate, t.id")
+    List<TaskReadUpdate> findBoardPageFromOldestAfter(TaskStatus status, LocalDateTime postedDate, Integer id, Pageable pageable);
+
+    //STREAMING
+    /**
+     * Streams the ids of all tasks, to fill the existence filter of tasks.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all task ids
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "select t.id from Task t")
+    Stream<Integer> streamIds();
+
+    /**
+     * Streams all tasks in id order. Rows are fetched from the database in batches of {@link #STREAM_FETCH_SIZE}.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of all tasks
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " order by t.id")
+    Stream<TaskReadUpdate> streamAll();
+
+    /**
+     * Streams all tasks with the given status that have not expired, ordered by the posted date from newest to oldest.
+     * Rows are fetched from the database in batches of {@link #STREAM_FETCH_SIZE}.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param status the status of the tasks to retrieve
+     * @return a stream of tasks with the given status, ordered by posted date from newest to oldest
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false order by t.postedDate desc, t.id desc")
+    Stream<TaskReadUpdate> streamAllByStatusFromNewest(TaskStatus status);
+
+    /**
+     * Streams all tasks with the given status that have not expired, ordered by the posted date from oldest to newest.
+     * Rows are fetched from the database in batches of {@link #STREAM_FETCH_SIZE}.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param status the status of the tasks to retrieve
+     * @return a stream of tasks with the given status, ordered by posted date from oldest to newest
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.status = :status and t.expired = false order by t.postedDate, t.id")
+    Stream<TaskReadUpdate> streamAllByStatusFromOldest(TaskStatus status);
+
+    //EXPIRY
+    /**
+     * Finds the deadlines of all tasks that have not expired yet and are due before the given time.
+     *
+     * @param until the end of the period to look into
+     * @return the deadlines of the tasks due before the given time
+     */
+    @Query(value = "select new freelanceplatform.dto.TaskDeadline(t.id, t.deadline) from Task t where t.expired = false and t.deadline < :until")
+    List<TaskDeadline> findDeadlinesBefore(LocalDateTime until);
+
+    /**
+     * Finds and locks which of the given tasks are due at the given time and have not been marked as expired yet.
+     * Tasks locked by another transaction are skipped ({@code FOR UPDATE SKIP LOCKED}), and a task expired by
+     * a transaction that committed meanwhile no longer matches, so each due task is claimed by one transaction only.
+     * Pending changes of the persistence context are flushed first, so a deadline changed by the current transaction counts.
+     *
+     * @param ids the IDs of the candidate tasks
+     * @param now the current time
+     * @return the IDs of the due tasks claimed by the current transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS"))
+    @Query(value = "select t.id from task t where t.id in :ids and not t.expired and t.deadline <= :now " +
+            "for update skip locked",
+            nativeQuery = true)
+    List<Integer> lockIdsDueForExpiry(Collection<Integer> ids, LocalDateTime now);
+
+    /**
+     * Marks the given tasks as expired in a single statement. Tasks already marked are left untouched.
+     *
+     * @param ids the IDs of the tasks to mark
+     * @param now the current time, recorded as the modification time
+     * @return the number of marked tasks
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Task t set t.expired = true, t.updatedAt = :now where t.id in :ids and t.expired = false")
+    int markExpired(Collection<Integer> ids, LocalDateTime now);
+
+    //FACETS
+    /**
+     * Finds the facet of a task as stored in the database.
+     * Pending changes of the persistence context are not flushed first, so the facet is the one before the current change.
+     *
+     * @param id the ID of the task
+     * @return the stored facet of the task, or null if the task does not exist
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(value = "select new freelanceplatform.dto.TaskFacet(t.type, t.status, t.expired) from Task t where t.id = :id")
+    TaskFacet findFacetById(Integer id);
+
+    /**
+     * Counts the open tasks, i.e. those neither expired nor in the given closed status, per type and status.
+     *
+     * @param closed the status of tasks that are no longer open
+     * @return the number of open tasks of every type and status that has any
+     */
+    @Query(value = "select new freelanceplatform.dto.TaskFacetCount(t.type, t.status, count(t)) from Task t " +
+            "where t.expired = false and t.status <> :closed group by t.type, t.status")
+    List<TaskFacetCount> countOpenByTypeAndStatus(TaskStatus closed);
+
+    //SEARCH
+    /**
+     * Finds one page of tasks whose title or problem matches the given full-text query, best matches first.
+     * Matches in the title weigh more than matches in the problem.
+     *
+     * @param query    the search query in web search syntax
+     * @param type     the name of the task type to filter by, or null for all types
+     * @param status   the name of the task status to filter by, or null for all statuses
+     * @param offset   the number of matching tasks to skip
+     * @param limit    the maximum number of tasks to return
+     * @return a page of matching tasks ordered by rank
+     */
+    @Query(value = "select t.* from task t, websearch_to_tsquery('english', :query) q " +
+            "where t.search_vector @@ q " +
+            "and (cast(:type as varchar) is null or t.type = cast(:type as varchar)) " +
+            "and (cast(:status as varchar) is null or t.status = cast(:status as varchar)) " +
+            "order by ts_rank(t.search_vector, q) desc, t.id desc " +
+            "offset :offset limit :limit",
+            nativeQuery = true)
+    List<Task> search(String query, String type, String status, long offset, int limit);
 
     //TAKEN TASKS
     /**
      * Finds all tasks assigned to a freelancer that have not yet expired.
      *
      * @param freelancerId the ID of the freelancer
-     * @return a list of tasks assigned to the freelancer with deadlines that have not expired
+     * @return a list of tasks assigned to the freelancer that have not expired
      */
-    @Query(value = "select t from Task t where t.freelancer.id = :freelancerId and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllTakenByFreelancerIdDeadlineNotExpired(Integer freelancerId);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.freelancer.id = :freelancerId and t.expired = false")
+    List<TaskReadUpdate> findAllTakenByFreelancerIdDeadlineNotExpired(Integer freelancerId);
 
     /**
      * Finds all tasks assigned to a freelancer that have expired.
      *
      * @param freelancerId the ID of the freelancer
-     * @return a list of tasks assigned to the freelancer with deadlines that have expired
+     * @return a list of tasks assigned to the freelancer that have expired
      */
-    @Query(value = "select t from Task t where t.freelancer.id = :freelancerId and t.deadline < CURRENT_TIMESTAMP")
-    List<Task> findAllTakenByFreelancerIdDeadlineExpired(Integer freelancerId);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.freelancer.id = :freelancerId and t.expired = true")
+    List<TaskReadUpdate> findAllTakenByFreelancerIdDeadlineExpired(Integer freelancerId);
 
     /**
      * Finds all tasks assigned to a freelancer with the given status that have not yet expired.
      *
      * @param freelancerId the ID of the freelancer
      * @param taskStatus   the status of the tasks to retrieve
-     * @return a list of tasks assigned to the freelancer with the given status and deadlines that have not expired
+     * @return a list of tasks assigned to the freelancer with the given status that have not expired
      */
-    @Query(value = "select t from Task t where t.freelancer.id = :freelancerId and t.status = :taskStatus and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllTakenByFreelancerIdAndStatusDeadlineNotExpired(Integer freelancerId, TaskStatus taskStatus);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.freelancer.id = :freelancerId and t.status = :taskStatus and t.expired = false")
+    List<TaskReadUpdate> findAllTakenByFreelancerIdAndStatusDeadlineNotExpired(Integer freelancerId, TaskStatus taskStatus);
 
     /**
      * Finds all tasks assigned to a freelancer with the given status that have expired.
      *
      * @param freelancerId the ID of the freelancer
      * @param taskStatus   the status of the tasks to retrieve
-     * @return a list of tasks assigned to the freelancer with the given status and deadlines that have expired
+     * @return a list of tasks assigned to the freelancer with the given status that have expired
      */
-    @Query(value = "select t from Task t where t.freelancer.id = :freelancerId and t.status = :taskStatus and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllTakenByFreelancerIdAndStatusDeadlineExpired(Integer freelancerId, TaskStatus taskStatus);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.freelancer.id = :freelancerId and t.status = :taskStatus and t.expired = true")
+    List<TaskReadUpdate> findAllTakenByFreelancerIdAndStatusDeadlineExpired(Integer freelancerId, TaskStatus taskStatus);
 
     //POSTED TASKS
     /**
      * Finds all tasks posted by a customer that have not yet expired.
      *
      * @param customerId the ID of the customer
-     * @return a list of tasks posted by the customer with deadlines that have not expired
+     * @return a list of tasks posted by the customer that have not expired
      */
-    @Query(value = "select t from Task t where t.customer.id = :customerId and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllPostedByCustomerIdDeadlineNotExpired(Integer customerId);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.customer.id = :customerId and t.expired = false")
+    List<TaskReadUpdate> findAllPostedByCustomerIdDeadlineNotExpired(Integer customerId);
 
     /**
      * Finds all tasks posted by a customer that have expired.
      *
      * @param customerId the ID of the customer
-     * @return a list of tasks posted by the customer with deadlines that have expired
+     * @return a list of tasks posted by the customer that have expired
      */
-    @Query(value = "select t from Task t where t.customer.id = :customerId and t.deadline < CURRENT_TIMESTAMP")
-    List<Task> findAllPostedByCustomerIdDeadlineExpired(Integer customerId);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.customer.id = :customerId and t.expired = true")
+    List<TaskReadUpdate> findAllPostedByCustomerIdDeadlineExpired(Integer customerId);
 
     /**
      * Finds all tasks posted by a customer with the given status that have not yet expired.
      *
      * @param customerId the ID of the customer
      * @param taskStatus the status of the tasks to retrieve
-     * @return a list of tasks posted by the customer with the given status and deadlines that have not expired
+     * @return a list of tasks posted by the customer with the given status that have not expired
      */
-    @Query(value = "select t from Task t where t.customer.id = :customerId and t.status = :taskStatus and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllPostedByCustomerIdAndStatusDeadlineNotExpired(Integer customerId, TaskStatus taskStatus);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.customer.id = :customerId and t.status = :taskStatus and t.expired = false")
+    List<TaskReadUpdate> findAllPostedByCustomerIdAndStatusDeadlineNotExpired(Integer customerId, TaskStatus taskStatus);
 
     /**
      * Finds all tasks posted by a customer with the given status that have expired.
      *
      * @param customerId the ID of the customer
      * @param taskStatus the status of the tasks to retrieve
-     * @return a list of tasks posted by the customer with the given status and deadlines that have expired
+     * @return a list of tasks posted by the customer with the given status that have expired
      */
-    @Query(value = "select t from Task t where t.customer.id = :customerId and t.status = :taskStatus and t.deadline > CURRENT_TIMESTAMP")
-    List<Task> findAllPostedByCustomerIdAndStatusDeadlineExpired(Integer customerId, TaskStatus taskStatus);
+    @Query(value = "select " + READ_UPDATE + " from Task t " + READ_UPDATE_JOINS + " where t.customer.id = :customerId and t.status = :taskStatus and t.expired = true")
+    List<TaskReadUpdate> findAllPostedByCustomerIdAndStatusDeadlineExpired(Integer customerId, TaskStatus taskStatus);
 
     /**
      * Finds all tasks.
@@ -135,4 +338,25 @@ public interface TaskRepository extends CrudRepository<Task, Integer> {
      * @return a list of all {@link Task} entities
      */
     List<Task> findAll();
+
+    //CACHE WARM-UP
+    /**
+     * Finds the ids of the newest open tasks with the given status, to warm the task cache.
+     *
+     * @param status   the status of the tasks
+     * @param pageable the number of ids to find
+     * @return the ids of the newest tasks with the status whose deadline has not passed
+     */
+    @Query(value = "select t.id from Task t where t.status = :status and t.expired = false order by t.postedDate desc")
+    List<Integer> findNewestOpenIds(TaskStatus status, Pageable pageable);
+
+    //CACHE INVALIDATION
+    /**
+     * Finds the ids of the tasks a user posted or took, whose snapshots name the user.
+     *
+     * @param userId the ID of the user
+     * @return the ids of the tasks of the user
+     */
+    @Query(value = "select t.id from Task t where t.customer.id = :userId or t.freelancer.id = :userId")
+    List<Integer> findIdsByUserId(Integer userId);
 }
@@ -1,13 +1,23 @@
 package freelanceplatform.data;
 
 
+import freelanceplatform.dto.UserKeys;
+import freelanceplatform.dto.snapshot.UserSnapshot;
 import freelanceplatform.model.Proposal;
 import freelanceplatform.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -43,4 +53,45 @@ public interface UserRepository extends CrudRepository<User, Integer> {
      * @return a list of all {@link User} entities
      */
     List<User> findAll();
+
+    /**
+     * Finds the cacheable snapshot of a user without loading the user entity or any of its associations.
+     *
+     * @param id the ID of the user
+     * @return an {@link Optional} containing the snapshot if the user exists
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.UserSnapshot(u.id, u.username, u.firstName, u.lastName, u.email, u.rating, u.role) " +
+            "from User u where u.id = :id")
+    Optional<UserSnapshot> findSnapshotById(Integer id);
+
+    /**
+     * Finds the cacheable snapshots of several users in one query, to warm the user cache.
+     *
+     * @param ids the IDs of the users
+     * @return the snapshots of the users that exist, in no particular order
+     */
+    @Query(value = "select new freelanceplatform.dto.snapshot.UserSnapshot(u.id, u.username, u.firstName, u.lastName, u.email, u.rating, u.role) " +
+            "from User u where u.id in :ids")
+    List<UserSnapshot> findSnapshotsByIdIn(Collection<Integer> ids);
+
+    /**
+     * Streams the id, username and email of all users, to fill the existence filters of users.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of the keys of all users
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    @Query(value = "select new freelanceplatform.dto.UserKeys(u.id, u.username, u.email) from User u")
+    Stream<UserKeys> streamKeys();
+
+    /**
+     * Finds the ids of users who posted or took a task modified since the given time, to warm the user cache.
+     *
+     * @param since    the earliest modification time of the tasks
+     * @param pageable the number of ids to find
+     * @return the ids of the recently active users
+     */
+    @Query(value = "select u.id from User u where exists (select t.id from Task t " +
+            "where (t.customer = u or t.freelancer = u) and t.updatedAt >= :since)")
+    List<Integer> findIdsActiveSince(LocalDateTime since, Pageable pageable);
 }
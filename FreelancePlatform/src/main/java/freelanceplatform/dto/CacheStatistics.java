@@ -0,0 +1,31 @@
+package freelanceplatform.dto;
+
+/**
+ * Statistics of one cache on this node. Counts start at zero when the node starts.
+ *
+ * @param name           name of the cache
+ * @param hits           lookups served from the cache
+ * @param misses         lookups not found in the cache
+ * @param hitRatio       share of lookups served from the cache, or 0 without lookups
+ * @param puts           entries written to the cache
+ * @param evictions      entries evicted from the cache by the services
+ * @param loads          entries loaded from the database on a miss
+ * @param meanLoadMillis mean time a load took, in milliseconds
+ * @param coalescedLoads loads spared because a concurrent load of the same key was shared
+ * @param entries        entries of the shared level owned by this node, or null if unknown
+ * @param memoryCost     bytes taken by the entries owned by this node, or null if unknown
+ * @param localEntries   entries in the local level of this node, or null without a local level
+ */
+public record CacheStatistics(String name,
+                              long hits,
+                              long misses,
+                              double hitRatio,
+                              long puts,
+                              long evictions,
+                              long loads,
+                              double meanLoadMillis,
+                              long coalescedLoads,
+                              Long entries,
+                              Long memoryCost,
+                              Long localEntries) {
+}
@@ -1,9 +1,8 @@
 package freelanceplatform.dto;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import freelanceplatform.dto.creation.*;
 import freelanceplatform.dto.readUpdate.*;
+import freelanceplatform.dto.snapshot.*;
 import freelanceplatform.exceptions.NotFoundException;
 import freelanceplatform.model.*;
 import freelanceplatform.services.SolutionService;
@@ -24,7 +23,6 @@ public class Mapper {
 
     private final UserService userService;
     private final TaskService taskService;
-    private final ObjectMapper objectMapper;
     private final SolutionService solutionService;
 
     /**
@@ -45,6 +43,24 @@ public class Mapper {
                 .build();
     }
 
+    /**
+     * Converts a cached user snapshot to a UserDTO.
+     *
+     * @param user the snapshot to convert
+     * @return the converted UserDTO
+     */
+    public UserReadUpdate toReadUser(UserSnapshot user) {
+        return UserReadUpdate.builder()
+                .id(user.id())
+                .username(user.username())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .email(user.email())
+                .rating(user.rating())
+                .role(user.role())
+                .build();
+    }
+
     /**
      * Converts a UserCreationDTO to a User entity.
      *
@@ -62,20 +78,6 @@ public class Mapper {
                 .build();
     }
 
-    /**
-     * Converts user to json
-     *
-     * @param user to convert
-     * @return json string
-     */
-    public String convertUserToJson(User user) {
-        try {
-            return objectMapper.writeValueAsString(user);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error converting User to JSON", e);
-        }
-    }
-
     /**
      * Converts a Proposal entity to a ProposalDTO.
      *
@@ -94,6 +96,20 @@ public class Mapper {
                 .build();
     }
 
+    /**
+     * Converts a cached proposal snapshot to a ProposalDTO.
+     *
+     * @param proposal the snapshot to convert
+     * @return the converted ProposalDTO
+     */
+    public ProposalReadUpdate toProposalReadUpdate(ProposalSnapshot proposal) {
+        return ProposalReadUpdate.builder()
+                .id(proposal.id())
+                .freelancerId(proposal.freelancerId())
+                .taskId(proposal.taskId())
+                .build();
+    }
+
     /**
      * Converts a ProposalDTO to a Proposal entity.
      *
@@ -137,6 +153,30 @@ public class Mapper {
                 .freelancerUsername(Optional.ofNullable(task.getFreelancer())
                         .map(User::getUsername)
                         .orElse(null))
+                .postedDate(task.getPostedDate())
+                .expired(task.isExpired())
+                .build();
+    }
+
+    /**
+     * Converts a cached task snapshot to a TaskDTO.
+     *
+     * @param task the snapshot to convert
+     * @return the converted TaskDTO
+     */
+    public TaskReadUpdate toTaskReadUpdate(TaskSnapshot task) {
+        return TaskReadUpdate.builder()
+                .id(task.id())
+                .customerUsername(task.customerUsername())
+                .freelancerUsername(task.freelancerUsername())
+                .title(task.title())
+                .problem(task.problem())
+                .deadline(task.deadline())
+                .payment(task.payment())
+                .type(task.type())
+                .status(task.status())
+                .postedDate(task.postedDate())
+                .expired(task.expired())
                 .build();
     }
 
@@ -229,6 +269,22 @@ public class Mapper {
                 .build();
     }
 
+    /**
+     * Converts a cached feedback snapshot to a FeedbackDTO.
+     *
+     * @param fb the snapshot to convert
+     * @return the converted FeedbackDTO
+     */
+    public FeedbackReadUpdate toFeedbackReadUpdate(FeedbackSnapshot fb) {
+        return FeedbackReadUpdate.builder()
+                .id(fb.id())
+                .senderId(fb.senderId())
+                .receiverId(fb.receiverId())
+                .rating(fb.rating())
+                .comment(fb.comment())
+                .build();
+    }
+
     /**
      * Converts a ProposalCreationDTO to a Proposal entity.
      *
@@ -294,6 +350,21 @@ public class Mapper {
                 .build();
     }
 
+    /**
+     * Converts a cached solution snapshot to a {@link SolutionReadUpdate} object.
+     *
+     * @param solution the snapshot to convert
+     * @return the corresponding {@link SolutionReadUpdate} object
+     */
+    public SolutionReadUpdate toSolutionReadUpdate(SolutionSnapshot solution) {
+        return SolutionReadUpdate.builder()
+                .id(solution.id())
+                .taskId(solution.taskId())
+                .link(solution.link())
+                .description(solution.description())
+                .build();
+    }
+
     /**
      * Converts a {@link Solution} object to a {@link SolutionCreation} object.
      *
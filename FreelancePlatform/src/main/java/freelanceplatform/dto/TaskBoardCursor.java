@@ -0,0 +1,72 @@
+package freelanceplatform.dto;
+
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset position on the task board.
+ * The board is ordered by {@code (sort value, id)}, so the last task of a page is enough to continue from.
+ *
+ * @param sort  sort key the position belongs to
+ * @param value sort value of the last task on the previous page
+ * @param id    id of the last task on the previous page
+ */
+public record TaskBoardCursor(TaskBoardSort sort, Comparable<?> value, Integer id) {
+
+    private static final String SEPARATOR = "|";
+
+    public TaskBoardCursor {
+        Objects.requireNonNull(sort);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(id);
+    }
+
+    /**
+     * Creates a cursor pointing right after the given task.
+     *
+     * @param sort the sort key of the board
+     * @param task the last task of a page
+     * @return the cursor for the next page
+     */
+    public static TaskBoardCursor after(TaskBoardSort sort, TaskReadUpdate task) {
+        return new TaskBoardCursor(sort, sort.valueOf(task), task.getId());
+    }
+
+    /**
+     * Encodes the cursor into a URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = sort.attribute() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static TaskBoardCursor decode(String token) {
+        Objects.requireNonNull(token);
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            TaskBoardSort sort = TaskBoardSort.of(raw.substring(0, first));
+            return new TaskBoardCursor(
+                    sort,
+                    sort.parse(raw.substring(first + 1, last)),
+                    Integer.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException | ValidationException e) {
+            throw new ValidationException("Malformed task board cursor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package freelanceplatform.dto;
+
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+
+import java.util.Map;
+
+/**
+ * Numbers of open tasks per type and per status.
+ *
+ * @param types    number of open tasks of every type
+ * @param statuses number of open tasks in every status
+ */
+public record TaskBoardFacets(Map<TaskType, Long> types, Map<TaskStatus, Long> statuses) {
+}
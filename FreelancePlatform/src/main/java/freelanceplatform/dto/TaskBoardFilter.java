@@ -0,0 +1,68 @@
+package freelanceplatform.dto;
+
+import freelanceplatform.exceptions.ValidationException;
+import freelanceplatform.model.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Criteria and order of a task board request. Null bounds and an empty type set do not restrict the board.
+ *
+ * @param types        task types to include, empty for all types
+ * @param paymentMin   lowest payment to include
+ * @param paymentMax   highest payment to include
+ * @param deadlineFrom earliest deadline to include
+ * @param deadlineTo   latest deadline to include
+ * @param sort         sort key
+ * @param descending   whether to sort from the highest value to the lowest
+ */
+public record TaskBoardFilter(Set<TaskType> types,
+                              Double paymentMin,
+                              Double paymentMax,
+                              LocalDateTime deadlineFrom,
+                              LocalDateTime deadlineTo,
+                              TaskBoardSort sort,
+                              boolean descending) {
+
+    public TaskBoardFilter {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        Objects.requireNonNull(sort);
+        if (paymentMin != null && paymentMax != null && paymentMin > paymentMax)
+            throw new ValidationException("Minimal payment must not exceed maximal payment");
+        if (deadlineFrom != null && deadlineTo != null && deadlineFrom.isAfter(deadlineTo))
+            throw new ValidationException("Deadline window must not end before it starts");
+    }
+
+    /**
+     * Creates a filter of the whole board, optionally of a single type, ordered by posted date.
+     *
+     * @param type       task type to include, or null for all types
+     * @param fromNewest whether to sort from newest to oldest
+     * @return the filter
+     */
+    public static TaskBoardFilter byPostedDate(TaskType type, boolean fromNewest) {
+        return new TaskBoardFilter(type == null ? Set.of() : Set.of(type), null, null, null, null,
+                TaskBoardSort.POSTED_DATE, fromNewest);
+    }
+
+    /**
+     * Tells whether the filter only selects a type and orders by posted date, which the task board index answers.
+     *
+     * @return true if the task board index can serve the filter
+     */
+    public boolean isPlain() {
+        return sort == TaskBoardSort.POSTED_DATE && types.size() <= 1
+                && paymentMin == null && paymentMax == null && deadlineFrom == null && deadlineTo == null;
+    }
+
+    /**
+     * Returns the only selected type of a plain filter.
+     *
+     * @return the selected type, or null if all types are selected
+     */
+    public TaskType singleType() {
+        return types.size() == 1 ? types.iterator().next() : null;
+    }
+}
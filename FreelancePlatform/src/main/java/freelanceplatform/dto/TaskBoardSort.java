@@ -0,0 +1,71 @@
+package freelanceplatform.dto;
+
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.exceptions.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Sort keys of the task board. Every key is a {@code Task} attribute, ties are broken by id.
+ */
+public enum TaskBoardSort {
+
+    POSTED_DATE("postedDate", TaskReadUpdate::getPostedDate, LocalDateTime::parse),
+    DEADLINE("deadline", TaskReadUpdate::getDeadline, LocalDateTime::parse),
+    PAYMENT("payment", TaskReadUpdate::getPayment, Double::valueOf);
+
+    private final String attribute;
+    private final Function<TaskReadUpdate, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    TaskBoardSort(String attribute, Function<TaskReadUpdate, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the sort key with the given attribute name.
+     *
+     * @param attribute the attribute name, e.g. {@code postedDate}
+     * @return the sort key
+     * @throws ValidationException if the board cannot be sorted by the attribute
+     */
+    public static TaskBoardSort of(String attribute) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.attribute.equals(attribute))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Task board cannot be sorted by " + attribute));
+    }
+
+    /**
+     * Returns the name of the sorted {@code Task} attribute.
+     *
+     * @return the attribute name
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the sort value of a task.
+     *
+     * @param task the task
+     * @return the value of the sorted attribute
+     */
+    public Comparable<?> valueOf(TaskReadUpdate task) {
+        return extractor.apply(task);
+    }
+
+    /**
+     * Parses a sort value from its string form.
+     *
+     * @param value the string form of the value
+     * @return the parsed value
+     */
+    Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,12 @@
+package freelanceplatform.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deadline of a task that has not expired yet.
+ *
+ * @param id       id of the task
+ * @param deadline deadline of the task
+ */
+public record TaskDeadline(Integer id, LocalDateTime deadline) {
+}
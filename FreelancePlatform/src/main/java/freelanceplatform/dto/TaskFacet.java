@@ -0,0 +1,34 @@
+package freelanceplatform.dto;
+
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+
+/**
+ * The attributes of a task the task board facets are counted by.
+ *
+ * @param type    type of the task
+ * @param status  status of the task
+ * @param expired whether the deadline of the task has passed
+ */
+public record TaskFacet(TaskType type, TaskStatus status, boolean expired) {
+
+    /**
+     * Returns the facet of the current state of a task.
+     *
+     * @param task the task
+     * @return the facet of the task
+     */
+    public static TaskFacet of(Task task) {
+        return new TaskFacet(task.getType(), task.getStatus(), task.isExpired());
+    }
+
+    /**
+     * Tells whether the task is still open, i.e. neither accepted nor expired.
+     *
+     * @return true if the task is counted by the facets
+     */
+    public boolean isOpen() {
+        return !expired && status != TaskStatus.ACCEPTED;
+    }
+}
@@ -0,0 +1,11 @@
+package freelanceplatform.dto;
+
+/**
+ * The unique keys of a user.
+ *
+ * @param id       id of the user
+ * @param username username of the user
+ * @param email    email of the user
+ */
+public record UserKeys(Integer id, String username, String email) {
+}
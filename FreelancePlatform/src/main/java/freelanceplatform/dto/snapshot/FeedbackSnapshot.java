@@ -0,0 +1,14 @@
+package freelanceplatform.dto.snapshot;
+
+/**
+ * Immutable cached state of a feedback.
+ *
+ * @param id         id of the feedback
+ * @param senderId   id of the user who sent the feedback
+ * @param receiverId id of the user who received the feedback
+ * @param rating     rating given
+ * @param comment    comment given
+ */
+public record FeedbackSnapshot(Integer id, Integer senderId, Integer receiverId, Integer rating,
+                               String comment) implements Snapshot {
+}
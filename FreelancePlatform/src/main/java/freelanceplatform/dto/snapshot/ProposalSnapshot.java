@@ -0,0 +1,11 @@
+package freelanceplatform.dto.snapshot;
+
+/**
+ * Immutable cached state of a proposal.
+ *
+ * @param id           id of the proposal
+ * @param freelancerId id of the proposing freelancer
+ * @param taskId       id of the task proposed for
+ */
+public record ProposalSnapshot(Integer id, Integer freelancerId, Integer taskId) implements Snapshot {
+}
@@ -0,0 +1,14 @@
+package freelanceplatform.dto.snapshot;
+
+import java.io.Serializable;
+
+/**
+ * Immutable cached state of an entity, cached under the id of the entity.
+ */
+public interface Snapshot extends Serializable {
+
+    /**
+     * @return id of the entity, the key of the snapshot in its cache
+     */
+    Integer id();
+}
@@ -0,0 +1,12 @@
+package freelanceplatform.dto.snapshot;
+
+/**
+ * Immutable cached state of a solution.
+ *
+ * @param id          id of the solution
+ * @param taskId      id of the solved task, or null
+ * @param link        link to the solution
+ * @param description description of the solution
+ */
+public record SolutionSnapshot(Integer id, Integer taskId, String link, String description) implements Snapshot {
+}
@@ -0,0 +1,36 @@
+package freelanceplatform.dto.snapshot;
+
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable cached state of a task. Users are referenced by username only, so no entity graph is cached with it.
+ *
+ * @param id                 id of the task
+ * @param customerUsername   username of the customer who posted the task
+ * @param freelancerUsername username of the assigned freelancer, or null
+ * @param title              title of the task
+ * @param problem            problem description of the task
+ * @param deadline           deadline of the task
+ * @param payment            payment for the task
+ * @param type               type of the task
+ * @param status             status of the task
+ * @param postedDate         when the task was posted
+ * @param expired            whether the deadline of the task has passed
+ * @param updatedAt          when the task was last modified
+ */
+public record TaskSnapshot(Integer id,
+                           String customerUsername,
+                           String freelancerUsername,
+                           String title,
+                           String problem,
+                           LocalDateTime deadline,
+                           Double payment,
+                           TaskType type,
+                           TaskStatus status,
+                           LocalDateTime postedDate,
+                           boolean expired,
+                           LocalDateTime updatedAt) implements Snapshot {
+}
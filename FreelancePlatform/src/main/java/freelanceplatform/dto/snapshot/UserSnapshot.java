@@ -0,0 +1,23 @@
+package freelanceplatform.dto.snapshot;
+
+import freelanceplatform.model.Role;
+
+/**
+ * Immutable cached state of a user, without credentials and without any of the user's tasks, proposals or feedbacks.
+ *
+ * @param id        id of the user
+ * @param username  username of the user
+ * @param firstName first name of the user
+ * @param lastName  last name of the user
+ * @param email     email of the user
+ * @param rating    rating of the user
+ * @param role      role of the user
+ */
+public record UserSnapshot(Integer id,
+                           String username,
+                           String firstName,
+                           String lastName,
+                           String email,
+                           int rating,
+                           Role role) implements Snapshot {
+}
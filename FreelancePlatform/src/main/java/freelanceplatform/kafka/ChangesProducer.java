@@ -1,51 +1,41 @@
 package freelanceplatform.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import freelanceplatform.data.OutboxEventRepository;
+import freelanceplatform.model.OutboxEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Produces change events through the transactional outbox: a message is stored in the outbox table in the
+ * transaction of the change and published to Kafka by {@link OutboxRelay} once that transaction committed. Events of
+ * rolled back changes are never published and no request waits for the broker.
+ */
 @Slf4j
 @Service
 public class ChangesProducer<T> {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxEventRepository;
 
     @Autowired
-    public ChangesProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+    public ChangesProducer(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
     }
 
     /**
-     * Sends a message to a specified Kafka topic.
+     * Sends a message to a specified Kafka topic once the current transaction commits. Messages of the same key go
+     * to the same partition, so the changes of one task or user are consumed in order.
      *
-     * <p>This method logs the message before sending it to the topic.
+     * <p>The payload is not logged here, {@link EventPublisher} logs a sample of the payloads at debug level.
      *
-     * @param message the message to be sent
+     * @param key the ID of the changed entity
+     * @param message the encoded event to be sent
      * @param topic the topic to which the message is to be sent
      */
-    public void sendMessage(String message, T topic) {
-        log.info(String.format("event - %s", message));
-        kafkaTemplate.send(topic.toString(), message);
+    @Transactional
+    public void sendMessage(Object key, byte[] message, T topic) {
+        log.debug("Queueing event of {} to {}", key, topic);
+        outboxEventRepository.save(new OutboxEvent(topic.toString(), String.valueOf(key), message));
     }
-
-    /**
-     * Converts an object to its JSON string representation.
-     *
-     * @param o the object to be converted
-     * @return the JSON string representation of the object
-     * @throws RuntimeException if the object cannot be converted to JSON
-     */
-    public String toJsonString(Object o){
-        try {
-            return objectMapper.writeValueAsString(o);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
 }
@@ -0,0 +1,118 @@
+package freelanceplatform.kafka;
+
+import freelanceplatform.kafka.topics.TaskChangesTopic;
+import freelanceplatform.kafka.topics.UserChangesTopic;
+import freelanceplatform.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Collapses the changes of one entity made within a short window into one event carrying the latest state.
+ *
+ * <p>Only events of the configured topics are coalesced, such as {@code user_updated}; lifecycle events, such as a
+ * task being posted or a user deleted, are always delivered one by one. The unsent events of a coalesced topic with
+ * the same key form a group, which is held until its oldest event is older than the window, so that the changes
+ * made meanwhile join it. Then only the latest event of the group is published and the others are dropped. Every
+ * later event of the same entity is held as well, so the events of an entity keep their order; the delivered event
+ * of a group takes the position of its latest change. Events are keyed by entity ID and the IDs of different entity
+ * types overlap, so the entity of an event is its key together with the entity type of its topic, and a held user
+ * never holds back a task of the same ID. Without coalescing every event is published.</p>
+ */
+@Component
+public class EventCoalescer {
+
+    private static final Map<String, String> ENTITY_TYPES = Stream.concat(
+                    Arrays.stream(TaskChangesTopic.values()).map(topic -> Map.entry(topic.toString(), "task")),
+                    Arrays.stream(UserChangesTopic.values()).map(topic -> Map.entry(topic.toString(), "user")))
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Set<String> topics;
+
+    @Autowired
+    public EventCoalescer(@Value("${outbox.coalescing.enabled:false}") boolean enabled,
+                          @Value("${outbox.coalescing.window:PT2S}") Duration window,
+                          @Value("${outbox.coalescing.topics:user_updated}") List<String> topics) {
+        this.enabled = enabled;
+        this.window = window;
+        this.topics = Set.copyOf(topics);
+    }
+
+    /**
+     * Decides which events of a batch to publish, which to drop and which to hold for a later batch.
+     *
+     * @param events the unsent events, oldest first
+     * @param now    the current time
+     * @return the events to publish and to drop, every other event is held
+     */
+    public Plan plan(List<OutboxEvent> events, LocalDateTime now) {
+        if (!enabled) return new Plan(events, List.of());
+        final Map<Group, OutboxEvent> oldest = new HashMap<>();
+        final Map<Group, OutboxEvent> latest = new HashMap<>();
+        for (OutboxEvent event : events) {
+            if (!topics.contains(event.getTopic())) continue;
+            oldest.putIfAbsent(Group.of(event), event);
+            latest.put(Group.of(event), event);
+        }
+        final LocalDateTime windowStart = now.minus(window);
+        final Set<Subject> held = new HashSet<>();
+        final List<OutboxEvent> publish = new ArrayList<>();
+        final List<OutboxEvent> dropped = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (event.getKey() != null && held.contains(Subject.of(event))) continue;
+            if (!topics.contains(event.getTopic())) {
+                publish.add(event);
+                continue;
+            }
+            final Group group = Group.of(event);
+            if (oldest.get(group).getCreatedAt().isAfter(windowStart)) {
+                if (event.getKey() != null) held.add(Subject.of(event));
+            } else if (latest.get(group) == event) {
+                publish.add(event);
+            } else {
+                dropped.add(event);
+            }
+        }
+        return new Plan(publish, dropped);
+    }
+
+    /**
+     * What to do with a batch of events.
+     *
+     * @param publish the events to publish, in order
+     * @param dropped the events superseded by a later event of their group
+     */
+    public record Plan(List<OutboxEvent> publish, List<OutboxEvent> dropped) {
+    }
+
+    private record Group(String topic, String key) {
+
+        private static Group of(OutboxEvent event) {
+            return new Group(event.getTopic(), event.getKey());
+        }
+    }
+
+    /**
+     * The entity an event is about; a topic of no known entity type stands for a type of its own.
+     */
+    private record Subject(String entityType, String key) {
+
+        private static Subject of(OutboxEvent event) {
+            return new Subject(ENTITY_TYPES.getOrDefault(event.getTopic(), event.getTopic()), event.getKey());
+        }
+    }
+}
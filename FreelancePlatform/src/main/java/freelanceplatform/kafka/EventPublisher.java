@@ -0,0 +1,112 @@
+package freelanceplatform.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events to Kafka asynchronously with a bounded number of sends in flight.
+ *
+ * <p>A send waits for a free slot before it is handed to the producer, so a burst of events blocks the sender for
+ * at most the acquire timeout instead of exhausting the buffer of the producer; the slot is released by the
+ * completion callback of the send. Every send is timed by the {@code kafka.send} timer and every failure counted by
+ * the {@code kafka.send.errors} meter, both tagged by topic. Payload sizes are only logged at debug level and only
+ * for the sampled share of the events.</p>
+ */
+@Slf4j
+@Component
+public class EventPublisher {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Duration acquireTimeout;
+    private final double logSampleRate;
+    private final ConcurrentMap<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> errors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry,
+                          @Value("${kafka.publisher.max-in-flight:10000}") int maxInFlight,
+                          @Value("${kafka.publisher.acquire-timeout:PT5S}") Duration acquireTimeout,
+                          @Value("${kafka.publisher.log-sample-rate:0.01}") double logSampleRate) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+        this.logSampleRate = logSampleRate;
+        meterRegistry.gauge("kafka.send.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits());
+    }
+
+    /**
+     * Sends an event once a slot is free.
+     *
+     * @param topic   the topic of the event
+     * @param key     the key of the event, which chooses its partition, or null to spread events of the topic
+     * @param payload the encoded event
+     * @return completes when the broker acknowledged the event, or exceptionally if it could not be sent
+     */
+    public CompletableFuture<SendResult<String, byte[]>> publish(String topic, String key, byte[] payload) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < logSampleRate)
+            log.debug("event {} - {} bytes", topic, payload.length);
+        if (!acquire()) {
+            errors(topic).increment();
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "No free slot to send to " + topic + " within " + acquireTimeout));
+        }
+        final long started = System.nanoTime();
+        final CompletableFuture<SendResult<String, byte[]>> send;
+        try {
+            send = kafkaTemplate.send(topic, key, payload);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            errors(topic).increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, failure) -> {
+            inFlight.release();
+            latencies(topic).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (failure != null) {
+                errors(topic).increment();
+                log.warn("Sending an event to {} failed", topic, failure);
+            }
+        });
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Timer latencies(String topic) {
+        return latencies.computeIfAbsent(topic, name -> Timer.builder("kafka.send")
+                .description("Time from handing an event to the producer until the broker acknowledged it")
+                .tag("topic", name)
+                .register(meterRegistry));
+    }
+
+    private Counter errors(String topic) {
+        return errors.computeIfAbsent(topic, name -> Counter.builder("kafka.send.errors")
+                .description("Number of events that could not be sent")
+                .tag("topic", name)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,156 @@
+package freelanceplatform.kafka;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import freelanceplatform.data.OutboxEventRepository;
+import freelanceplatform.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Publishes the committed events of the outbox to Kafka.
+ *
+ * <p>Every poll locks a batch of the oldest unsent events with {@code FOR UPDATE SKIP LOCKED}, sends all of them
+ * through {@link EventPublisher}, waits until the broker acknowledged them and marks them sent in the same
+ * transaction, so that the producer can batch the sends. Only the node holding the Hazelcast lock of the relay
+ * polls, so events are published in the order they were written and the events of one key reach their partition
+ * in order. A batch that fails to send is rolled back and retried on the next poll, so an event is published at
+ * least once; events sent but not marked may be published again. Polls continue while full batches are found. Sent
+ * events are deleted after the retention.</p>
+ *
+ * <p>While the broker is down a poll blocks its scheduler thread for up to the send timeout. The scheduler pool
+ * ({@code spring.task.scheduling.pool.size}) has a thread for every scheduled job, so the other jobs, such as the
+ * expiry wheel tick, keep running meanwhile.</p>
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    /**
+     * Name of the Hazelcast map whose lock is held by the relaying node.
+     */
+    public static final String LOCK_MAP = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final EventCoalescer eventCoalescer;
+    private final IMap<String, Boolean> lock;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sent;
+    private final Counter coalesced;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, EventPublisher eventPublisher,
+                       EventCoalescer eventCoalescer, HazelcastInstance hazelcast,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.send-timeout:PT10S}") Duration sendTimeout,
+                       @Value("${outbox.retention:P1D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.eventCoalescer = eventCoalescer;
+        this.lock = hazelcast.getMap(LOCK_MAP);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sent = Counter.builder("outbox.events.sent")
+                .description("Number of outbox events published to Kafka")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("outbox.events.coalesced")
+                .description("Number of outbox events dropped because a later change of the same entity superseded them")
+                .register(meterRegistry);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Publishes unsent events until a batch is not full, unless another node is relaying.
+     */
+    @Scheduled(initialDelayString = "${outbox.relay.poll-interval:PT0.5S}",
+            fixedDelayString = "${outbox.relay.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!enabled || !lock.tryLock(LOCK_MAP)) return;
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Relaying outbox events failed, retrying on the next poll", e);
+        } finally {
+            lock.unlock(LOCK_MAP);
+        }
+    }
+
+    /**
+     * Publishes one batch of unsent events and marks them sent. Events superseded within the coalescing window are
+     * marked without being published, events still inside it are left for a later batch. Must run in a transaction,
+     * which holds the locks of the batch until it is marked.
+     *
+     * @return the number of events marked sent
+     */
+    public int relayBatch() {
+        final List<OutboxEvent> events = outboxEventRepository.findUnsentForUpdate(PageRequest.ofSize(batchSize));
+        if (events.isEmpty()) return 0;
+        final LocalDateTime now = LocalDateTime.now();
+        final EventCoalescer.Plan plan = eventCoalescer.plan(events, now);
+        final CompletableFuture<?>[] sends = plan.publish().stream()
+                .map(event -> eventPublisher.publish(event.getTopic(), event.getKey(), event.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        await(CompletableFuture.allOf(sends));
+        final List<Integer> done = Stream.concat(plan.publish().stream(), plan.dropped().stream())
+                .map(OutboxEvent::getId)
+                .toList();
+        if (done.isEmpty()) return 0;
+        outboxEventRepository.markSent(done, now);
+        sent.increment(plan.publish().size());
+        coalesced.increment(plan.dropped().size());
+        log.debug("Relayed {} outbox events, dropped {} coalesced", plan.publish().size(), plan.dropped().size());
+        return done.size();
+    }
+
+    /**
+     * Deletes the events sent before the retention.
+     */
+    @Scheduled(initialDelayString = "${outbox.cleanup-interval:PT1H}", fixedDelayString = "${outbox.cleanup-interval:PT1H}")
+    public void deleteSent() {
+        final Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) log.info("Deleted {} sent outbox events", deleted);
+    }
+
+    private void await(CompletableFuture<?> sends) {
+        try {
+            sends.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Publishing outbox events failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Publishing outbox events timed out after " + sendTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        }
+    }
+}
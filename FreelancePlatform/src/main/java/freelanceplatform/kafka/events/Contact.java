@@ -0,0 +1,21 @@
+package freelanceplatform.kafka.events;
+
+import freelanceplatform.model.User;
+
+/**
+ * The contact fields of a user carried by an event.
+ *
+ * @param id       id of the user
+ * @param username username of the user
+ * @param email    email of the user
+ */
+public record Contact(Integer id, String username, String email) {
+
+    /**
+     * @param user a user, or null
+     * @return the contact of the user, or null without a user
+     */
+    public static Contact of(User user) {
+        return user == null ? null : new Contact(user.getId(), user.getUsername(), user.getEmail());
+    }
+}
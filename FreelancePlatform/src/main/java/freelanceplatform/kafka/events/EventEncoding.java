@@ -0,0 +1,107 @@
+package freelanceplatform.kafka.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The binary encoding of the events.
+ *
+ * <p>An event starts with one byte holding the version of its schema, followed by its fields in declaration order.
+ * A nullable field starts with a presence byte; strings are written as their UTF-8 length and bytes, dates as UTC
+ * epoch seconds and nanos. Fields are only ever added at the end, so a reader of an older version reads the fields
+ * it knows and ignores the rest. Legacy JSON events start with {@code '{'}, which no version byte takes.</p>
+ */
+final class EventEncoding {
+
+    /**
+     * Writes the fields of an event after its version byte.
+     */
+    @FunctionalInterface
+    interface Fields {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads the fields of an event after its version byte.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(int version, DataInputStream in) throws IOException;
+    }
+
+    private EventEncoding() {
+    }
+
+    static byte[] encode(int version, Fields fields) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(version);
+            fields.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static <T> T decode(byte[] payload, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return reader.read(in.readUnsignedByte(), in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed event payload", e);
+        }
+    }
+
+    static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeInt(value);
+    }
+
+    static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value == null) return;
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value == null) return;
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    static void writeContact(DataOutputStream out, Contact contact) throws IOException {
+        out.writeBoolean(contact != null);
+        if (contact == null) return;
+        writeInteger(out, contact.id());
+        writeString(out, contact.username());
+        writeString(out, contact.email());
+    }
+
+    static Contact readContact(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new Contact(readInteger(in), readString(in), readString(in)) : null;
+    }
+}
@@ -0,0 +1,72 @@
+package freelanceplatform.kafka.events;
+
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+import static freelanceplatform.kafka.events.EventEncoding.*;
+
+/**
+ * Event published in the binary encoding of {@link EventEncoding} on every task topic, carrying what consumers need to notify the users of the task.
+ *
+ * @param version    version of the event schema, {@link #VERSION} when published
+ * @param id         id of the task
+ * @param title      title of the task
+ * @param status     status of the task
+ * @param deadline   deadline of the task
+ * @param customer   customer who posted the task
+ * @param freelancer assigned freelancer, or null
+ */
+public record TaskEvent(int version,
+                        Integer id,
+                        String title,
+                        TaskStatus status,
+                        LocalDateTime deadline,
+                        Contact customer,
+                        Contact freelancer) {
+
+    /**
+     * Version of the schema published by this application. Fields are only appended, consumers ignore the bytes
+     * after the fields they know.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * @param task a task
+     * @return the event of the current state of the task
+     */
+    public static TaskEvent of(Task task) {
+        return new TaskEvent(VERSION, task.getId(), task.getTitle(), task.getStatus(), task.getDeadline(),
+                Contact.of(task.getCustomer()), Contact.of(task.getFreelancer()));
+    }
+
+    /**
+     * @return the event in the binary encoding, starting with its version
+     */
+    public byte[] encode() {
+        return EventEncoding.encode(version, out -> {
+            writeInteger(out, id);
+            writeString(out, title);
+            writeString(out, status == null ? null : status.name());
+            writeDateTime(out, deadline);
+            writeContact(out, customer);
+            writeContact(out, freelancer);
+        });
+    }
+
+    /**
+     * @param payload an event in the binary encoding
+     * @return the decoded event
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static TaskEvent decode(byte[] payload) {
+        return EventEncoding.decode(payload, (version, in) -> {
+            final Integer id = readInteger(in);
+            final String title = readString(in);
+            final String status = readString(in);
+            return new TaskEvent(version, id, title, status == null ? null : TaskStatus.valueOf(status),
+                    readDateTime(in), readContact(in), readContact(in));
+        });
+    }
+}
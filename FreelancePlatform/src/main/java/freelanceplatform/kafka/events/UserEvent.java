@@ -0,0 +1,51 @@
+package freelanceplatform.kafka.events;
+
+import freelanceplatform.model.User;
+
+import static freelanceplatform.kafka.events.EventEncoding.*;
+
+/**
+ * Event published in the binary encoding of {@link EventEncoding} on every user topic, carrying the contact fields of the user only.
+ *
+ * @param version  version of the event schema, {@link #VERSION} when published
+ * @param id       id of the user
+ * @param username username of the user
+ * @param email    email of the user
+ */
+public record UserEvent(int version, Integer id, String username, String email) {
+
+    /**
+     * Version of the schema published by this application. Fields are only appended, consumers ignore the bytes
+     * after the fields they know.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * @param user a user
+     * @return the event of the current state of the user
+     */
+    public static UserEvent of(User user) {
+        return new UserEvent(VERSION, user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    /**
+     * @return the event in the binary encoding, starting with its version
+     */
+    public byte[] encode() {
+        return EventEncoding.encode(version, out -> {
+            writeInteger(out, id);
+            writeString(out, username);
+            writeString(out, email);
+        });
+    }
+
+    /**
+     * @param payload an event in the binary encoding
+     * @return the decoded event
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static UserEvent decode(byte[] payload) {
+        return EventEncoding.decode(payload, (version, in) ->
+                new UserEvent(version, readInteger(in), readString(in), readString(in)));
+    }
+}
@@ -7,7 +7,8 @@ public enum TaskChangesTopic {
     FreelancerAssigned("freelancer_assigned"),
     TaskAccepted("task_accepted"),
     FreelancerRemoved("freelancer_removed"),
-    TaskSendOnReview("task_send_on_review");
+    TaskSendOnReview("task_send_on_review"),
+    TaskExpired("task_expired");
 
     private final String value;
 
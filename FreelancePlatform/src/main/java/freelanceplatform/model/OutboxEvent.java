@@ -0,0 +1,41 @@
+package freelanceplatform.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change event waiting to be published to Kafka, written in the same transaction as the change itself.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Data
+@NoArgsConstructor
+public class OutboxEvent extends AbstractEntity {
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "message_key")
+    private String key;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime sentAt;
+
+    public OutboxEvent(String topic, String key, byte[] payload) {
+        this.topic = topic;
+        this.key = key;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
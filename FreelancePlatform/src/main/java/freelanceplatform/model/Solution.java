@@ -1,14 +1,21 @@
 package freelanceplatform.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import freelanceplatform.services.CacheInvalidationListener;
+import freelanceplatform.services.ExistenceFilterListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({ExistenceFilterListener.class, CacheInvalidationListener.class})
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -1,13 +1,21 @@
 package freelanceplatform.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import freelanceplatform.services.CacheInvalidationListener;
+import freelanceplatform.services.ExistenceFilterListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({ExistenceFilterListener.class, CacheInvalidationListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +40,9 @@ public class Task extends AbstractEntity {
     @Column(nullable = false)
     private LocalDateTime deadline;
 
+    @Column(nullable = false)
+    private boolean expired;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TaskStatus status;
@@ -49,9 +60,13 @@ public class Task extends AbstractEntity {
     @Column
     private LocalDateTime submittedDate;
 
-    @Column
+    @Column(nullable = false)
     private LocalDateTime postedDate;
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     @JsonIgnore
     @OneToOne
     @JoinColumn(name = "solution_id")
@@ -67,4 +82,22 @@ public class Task extends AbstractEntity {
         this.type = type;
         this.postedDate = LocalDateTime.now();
     }
+
+    /**
+     * Stamps the posted date if it was not set explicitly, the task board is ordered by it.
+     */
+    @PrePersist
+    protected void onPersist() {
+        if (postedDate == null) postedDate = LocalDateTime.now();
+        if (updatedAt == null) touch();
+    }
+
+    /**
+     * Marks the task as modified now; the modification time is the validator of conditional requests.
+     * Called on the instance handed to the service rather than in a {@code @PreUpdate} callback, because
+     * a merge runs callbacks on the managed copy and the cached instance would keep the old time.
+     */
+    public void touch() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
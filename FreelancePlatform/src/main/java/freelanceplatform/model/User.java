@@ -1,8 +1,12 @@
 package freelanceplatform.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import freelanceplatform.services.CacheInvalidationListener;
+import freelanceplatform.services.ExistenceFilterListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
@@ -13,14 +17,35 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true)
 @ToString(exclude = {"receivedFeedbacks", "sentFeedbacks", "proposals", "takenTasks", "postedTasks"})
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({ExistenceFilterListener.class, CacheInvalidationListener.class})
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")})
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Builder
 public class User extends AbstractEntity {
 
-    @Column(nullable = false, unique = true)
+    /**
+     * Name of the unique constraint of usernames, as created by the changelog.
+     */
+    public static final String USERNAME_CONSTRAINT = "uc_users_username";
+
+    /**
+     * Name of the unique constraint the users table was created with next to {@link #USERNAME_CONSTRAINT}.
+     * A duplicate username may be reported by either of them.
+     */
+    public static final String TABLE_USERNAME_CONSTRAINT = "users_username_key";
+
+    /**
+     * Name of the unique constraint of emails, as created by the changelog.
+     */
+    public static final String EMAIL_CONSTRAINT = "uc_users_email";
+
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false, name = "first_name")
@@ -29,7 +54,7 @@ public class User extends AbstractEntity {
     @Column(nullable = false, name = "last_name")
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -43,22 +68,27 @@ public class User extends AbstractEntity {
     private Role role;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "customer")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private List<Task> postedTasks = new ArrayList<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "freelancer", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private List<Proposal> proposals = new ArrayList<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "receiver", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private List<Feedback> receivedFeedbacks = new ArrayList<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "sender", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private List<Feedback> sentFeedbacks = new ArrayList<>();
 
     @OneToMany(fetch = FetchType.EAGER, mappedBy = "freelancer")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnore
     private List<Task> takenTasks = new ArrayList<>();
 
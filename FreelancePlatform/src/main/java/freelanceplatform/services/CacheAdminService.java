@@ -0,0 +1,117 @@
+package freelanceplatform.services;
+
+import freelanceplatform.cache.InstrumentedCache;
+import freelanceplatform.cache.TwoLevelCacheManager;
+import freelanceplatform.data.*;
+import freelanceplatform.dto.CacheStatistics;
+import freelanceplatform.dto.snapshot.Snapshot;
+import freelanceplatform.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Inspects, clears and warms the snapshot caches of {@link SnapshotService}.
+ *
+ * <p>Warming loads the snapshots of the given ids with one query per batch and puts them into the cache, the same
+ * entries {@link SnapshotService} would cache on a miss.</p>
+ */
+@Service
+@Slf4j
+public class CacheAdminService {
+
+    /**
+     * Number of ids loaded by one warming query.
+     */
+    static final int WARM_BATCH_SIZE = 500;
+
+    private final TwoLevelCacheManager cacheManager;
+    private final Map<String, Function<Collection<Integer>, List<? extends Snapshot>>> loaders;
+
+    @Autowired
+    public CacheAdminService(TwoLevelCacheManager cacheManager, TaskRepository taskRepo, UserRepository userRepo,
+                             ProposalRepository proposalRepo, FeedbackRepository feedbackRepo,
+                             SolutionRepository solutionRepo) {
+        this.cacheManager = cacheManager;
+        final Map<String, Function<Collection<Integer>, List<? extends Snapshot>>> loaders = new LinkedHashMap<>();
+        loaders.put("tasks", taskRepo::findSnapshotsByIdIn);
+        loaders.put("users", userRepo::findSnapshotsByIdIn);
+        loaders.put("proposals", proposalRepo::findSnapshotsByIdIn);
+        loaders.put("feedbacks", feedbackRepo::findSnapshotsByIdIn);
+        loaders.put("solutions", solutionRepo::findSnapshotsByIdIn);
+        this.loaders = Collections.unmodifiableMap(loaders);
+    }
+
+    /**
+     * Returns the names of the snapshot caches.
+     *
+     * @return the cache names
+     */
+    public Set<String> cacheNames() {
+        return loaders.keySet();
+    }
+
+    /**
+     * Returns the statistics of every snapshot cache on this node.
+     *
+     * @return the statistics, one per cache
+     */
+    public List<CacheStatistics> statistics() {
+        return cacheNames().stream().map(this::statistics).toList();
+    }
+
+    /**
+     * Returns the statistics of a snapshot cache on this node.
+     *
+     * @param name the name of the cache
+     * @return the statistics
+     * @throws NotFoundException if there is no snapshot cache of the name
+     */
+    public CacheStatistics statistics(String name) {
+        return cache(name).statistics();
+    }
+
+    /**
+     * Removes every entry of a snapshot cache on all nodes.
+     *
+     * @param name the name of the cache
+     * @throws NotFoundException if there is no snapshot cache of the name
+     */
+    public void clear(String name) {
+        log.info("Clearing cache {}", name);
+        cache(name).clear();
+    }
+
+    /**
+     * Loads the snapshots of the given ids into a snapshot cache. Ids of missing entities are skipped.
+     *
+     * @param name the name of the cache
+     * @param ids  the ids of the entities to cache
+     * @return the number of snapshots put into the cache
+     * @throws NotFoundException if there is no snapshot cache of the name
+     */
+    @Transactional(readOnly = true)
+    public int warm(String name, Collection<Integer> ids) {
+        final InstrumentedCache cache = cache(name);
+        final Function<Collection<Integer>, List<? extends Snapshot>> loader = loaders.get(name);
+        final List<Integer> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int warmed = 0;
+        for (int from = 0; from < distinct.size(); from += WARM_BATCH_SIZE) {
+            final List<? extends Snapshot> snapshots =
+                    loader.apply(distinct.subList(from, Math.min(from + WARM_BATCH_SIZE, distinct.size())));
+            snapshots.forEach(snapshot -> cache.fill(snapshot.id(), snapshot));
+            warmed += snapshots.size();
+        }
+        log.info("Warmed cache {} with {} of {} requested entries", name, warmed, distinct.size());
+        return warmed;
+    }
+
+    private InstrumentedCache cache(String name) {
+        if (!loaders.containsKey(name)) throw NotFoundException.create("Cache", name);
+        return cacheManager.getInstrumentedCache(name);
+    }
+}
@@ -0,0 +1,30 @@
+package freelanceplatform.services;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that reports every persisted, updated or removed entity to the {@link CacheInvalidator}, whichever
+ * code path wrote it. Hibernate obtains the listener from the Spring context.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private final CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    public CacheInvalidationListener(@Lazy CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        cacheInvalidator.changed(entity);
+    }
+}
@@ -0,0 +1,159 @@
+package freelanceplatform.services;
+
+import freelanceplatform.cache.CacheDependencyGraph;
+import freelanceplatform.cache.TwoLevelCacheManager;
+import freelanceplatform.data.ProposalRepository;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.model.AbstractEntity;
+import freelanceplatform.model.Feedback;
+import freelanceplatform.model.Proposal;
+import freelanceplatform.model.Solution;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts every cached snapshot that depends on a changed entity once the change is committed.
+ *
+ * <p>The dependencies are declared in one {@link CacheDependencyGraph}: a task, a proposal, a feedback and a solution
+ * are cached themselves, a proposal and a solution are part of their task, a feedback is part of the ratings of its
+ * sender and receiver, and the tasks and proposals of a user are evicted with the user, since their snapshots name
+ * the user. {@link CacheInvalidationListener} reports every entity written through JPA and the entities changed by a
+ * transaction are collected. Right before the commit the transaction is flushed and the dependents are found inside
+ * it, including the collections of keys such as the tasks of a user, which need a query; after the commit they are
+ * evicted in one batch, so that no concurrent reader can cache the state from before the commit again. Only
+ * entities reported without a transaction or during the commit itself are resolved afterwards, and a new read-only
+ * transaction is opened for them only if their dependents need a query. Dependents of a deleted user that are
+ * deleted with it are reported on their own.</p>
+ */
+@Slf4j
+@Component
+public class CacheInvalidator {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheDependencyGraph graph;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CacheInvalidator(TwoLevelCacheManager cacheManager, TaskRepository taskRepo, ProposalRepository proposalRepo,
+                            PlatformTransactionManager transactionManager) {
+        this.cacheManager = cacheManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTransaction.setReadOnly(true);
+        this.graph = CacheDependencyGraph.builder()
+                .evict(Task.class, "tasks", Task::getId)
+                .evict(Proposal.class, "proposals", Proposal::getId)
+                .evict(Proposal.class, "tasks", proposal -> id(proposal.getTask()))
+                .evict(Feedback.class, "feedbacks", Feedback::getId)
+                .evict(Feedback.class, "users", feedback -> id(feedback.getSender()))
+                .evict(Feedback.class, "users", feedback -> id(feedback.getReceiver()))
+                .evict(Solution.class, "solutions", Solution::getId)
+                .evict(Solution.class, "tasks", solution -> id(solution.getTask()))
+                .evict(User.class, "users", User::getId)
+                .evictAll(User.class, "tasks", user -> taskRepo.findIdsByUserId(user.getId()))
+                .evictAll(User.class, "proposals", user -> proposalRepo.findIdsByFreelancerId(user.getId()))
+                .build();
+    }
+
+    /**
+     * Evicts the dependents of an entity after the current transaction commits, or right away without one.
+     *
+     * @param entity the persisted, updated or removed entity
+     */
+    public void changed(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(List.of(entity));
+            return;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        changes.entities.add(entity);
+    }
+
+    /**
+     * Evicts the dependents of the given entities in one batch, finding them in a new read-only transaction if they
+     * need a query.
+     *
+     * @param entities the changed entities
+     */
+    void invalidate(Collection<?> entities) {
+        invalidate(new LinkedHashMap<>(), entities);
+    }
+
+    private void invalidate(Map<String, Set<Object>> resolved, Collection<?> unresolved) {
+        final int changed = unresolved.size();
+        try {
+            if (graph.needsLookup(unresolved)) {
+                readOnlyTransaction.executeWithoutResult(status -> unresolved.forEach(entity -> graph.collect(entity, resolved)));
+            } else {
+                unresolved.forEach(entity -> graph.collect(entity, resolved));
+            }
+            if (resolved.isEmpty()) return;
+            log.debug("Evicting dependents {} of changed entities", resolved);
+            cacheManager.evictAll(resolved);
+        } catch (RuntimeException e) {
+            // the change is committed already, the time to live of the caches bounds how long stale entries live
+            log.warn("Evicting the dependents of {} changed entities failed", changed, e);
+        }
+    }
+
+    private static Integer id(AbstractEntity entity) {
+        return entity == null ? null : entity.getId();
+    }
+
+    /**
+     * The entities changed by one transaction and their dependents found so far.
+     */
+    private final class Changes implements TransactionSynchronization {
+
+        private final List<Object> entities = new ArrayList<>();
+        private final Map<String, Set<Object>> dependents = new LinkedHashMap<>();
+        private int resolved;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // entities otherwise only written by the commit itself are reported now, while the connection is held
+            if (!readOnly) entityManager.flush();
+            try {
+                for (; resolved < entities.size(); resolved++) graph.collect(entities.get(resolved), dependents);
+            } catch (RuntimeException e) {
+                // the rest is resolved after the commit
+                log.warn("Finding the dependents of {} changed entities failed", entities.size() - resolved, e);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            invalidate(dependents, entities.subList(resolved, entities.size()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidator.this);
+        }
+    }
+}
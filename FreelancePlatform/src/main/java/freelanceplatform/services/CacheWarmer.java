@@ -0,0 +1,167 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.ProposalRepository;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the working set of the snapshot caches when the application is ready: the newest open tasks of the
+ * board, the users who recently posted or took a task, and the proposals on open tasks.
+ *
+ * <p>The ids of the working set are found with one query per cache, split into batches of
+ * {@link CacheAdminService#WARM_BATCH_SIZE} and loaded by {@link CacheAdminService#warm} with one query per batch.
+ * At most {@code concurrency} batches are loaded at once, so the warm-up never takes more database connections than
+ * that. The application reports readiness only after the warm-up finished or timed out, so a node of a rolling
+ * deploy receives traffic with warm caches. Progress is logged and counted by the {@code cache.warmup.entries}
+ * meter; the duration is recorded by the {@code cache.warmup} timer.</p>
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private final CacheAdminService cacheAdminService;
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
+    private final ProposalRepository proposalRepo;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int concurrency;
+    private final int tasks;
+    private final int users;
+    private final int proposals;
+    private final Duration activeWithin;
+    private final Duration timeout;
+
+    @Autowired
+    public CacheWarmer(CacheAdminService cacheAdminService, TaskRepository taskRepo, UserRepository userRepo,
+                       ProposalRepository proposalRepo, MeterRegistry meterRegistry,
+                       @Value("${cache-warmup.enabled:true}") boolean enabled,
+                       @Value("${cache-warmup.concurrency:4}") int concurrency,
+                       @Value("${cache-warmup.tasks:5000}") int tasks,
+                       @Value("${cache-warmup.users:5000}") int users,
+                       @Value("${cache-warmup.proposals:5000}") int proposals,
+                       @Value("${cache-warmup.active-within:P7D}") Duration activeWithin,
+                       @Value("${cache-warmup.timeout:PT2M}") Duration timeout) {
+        this.cacheAdminService = cacheAdminService;
+        this.taskRepo = taskRepo;
+        this.userRepo = userRepo;
+        this.proposalRepo = proposalRepo;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.concurrency = concurrency;
+        this.tasks = tasks;
+        this.users = users;
+        this.proposals = proposals;
+        this.activeWithin = activeWithin;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Warms the caches on startup, unless disabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) warmUp();
+    }
+
+    /**
+     * Loads the working set into the caches and waits until it is loaded or the timeout passed.
+     *
+     * @return the number of entries put into the caches
+     */
+    public int warmUp() {
+        final long started = System.nanoTime();
+        final Map<String, List<Integer>> workingSet = new LinkedHashMap<>();
+        workingSet.put("tasks", taskRepo.findNewestOpenIds(TaskStatus.UNASSIGNED, PageRequest.ofSize(Math.max(1, tasks))));
+        workingSet.put("users", userRepo.findIdsActiveSince(LocalDateTime.now().minus(activeWithin),
+                PageRequest.ofSize(Math.max(1, users))));
+        workingSet.put("proposals", proposalRepo.findIdsOnOpenTasks(TaskStatus.UNASSIGNED,
+                PageRequest.ofSize(Math.max(1, proposals))));
+
+        final List<Batch> batches = new ArrayList<>();
+        workingSet.forEach((cache, ids) -> {
+            for (int from = 0; from < ids.size(); from += CacheAdminService.WARM_BATCH_SIZE)
+                batches.add(new Batch(cache, ids.subList(from, Math.min(from + CacheAdminService.WARM_BATCH_SIZE, ids.size()))));
+        });
+        log.info("Warming caches with {} tasks, {} users and {} proposals in {} batches", workingSet.get("tasks").size(),
+                workingSet.get("users").size(), workingSet.get("proposals").size(), batches.size());
+
+        final AtomicInteger warmed = new AtomicInteger();
+        final AtomicInteger done = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency), warmUpThreads());
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (Batch batch : batches) {
+                futures.add(executor.submit(() -> {
+                    final int entries = cacheAdminService.warm(batch.cache(), batch.ids());
+                    warmed.addAndGet(entries);
+                    Counter.builder("cache.warmup.entries")
+                            .description("Entries put into the caches by the startup warm-up")
+                            .tag("cache", batch.cache())
+                            .register(meterRegistry)
+                            .increment(entries);
+                    log.debug("Cache warm-up {}/{} batches done", done.incrementAndGet(), batches.size());
+                }));
+            }
+            await(futures, started);
+        } finally {
+            executor.shutdownNow();
+        }
+        final Duration took = Duration.ofNanos(System.nanoTime() - started);
+        Timer.builder("cache.warmup")
+                .description("Time taken by the startup warm-up of the caches")
+                .register(meterRegistry)
+                .record(took);
+        log.info("Warmed caches with {} entries in {} ms", warmed.get(), took.toMillis());
+        return warmed.get();
+    }
+
+    private void await(List<Future<?>> futures, long started) {
+        final long deadline = started + timeout.toNanos();
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Cache warm-up timed out after {}, serving with partially warm caches", timeout);
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Cache warm-up batch failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static ThreadFactory warmUpThreads() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "cache-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Batch(String cache, List<Integer> ids) {
+    }
+}
@@ -0,0 +1,34 @@
+package freelanceplatform.services;
+
+import freelanceplatform.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that adds the keys of every persisted task, user and solution to the {@link ExistenceFilters},
+ * whichever code path wrote the entity. Updated users are added again because they may have changed their username
+ * or email. Hibernate obtains the listener from the Spring context.
+ */
+@Component
+public class ExistenceFilterListener {
+
+    private final ExistenceFilters existenceFilters;
+
+    @Autowired
+    public ExistenceFilterListener(@Lazy ExistenceFilters existenceFilters) {
+        this.existenceFilters = existenceFilters;
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        existenceFilters.added(entity);
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        if (entity instanceof User) existenceFilters.added(entity);
+    }
+}
@@ -0,0 +1,246 @@
+package freelanceplatform.services;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import freelanceplatform.cache.BloomFilter;
+import freelanceplatform.data.SolutionRepository;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.UserKeys;
+import freelanceplatform.model.Solution;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters of the ids of tasks, users and solutions and of the usernames and emails of users, which answer
+ * existence checks without a database round trip when the answer is no.
+ *
+ * <p>A key the filter does not contain definitely does not exist; a key it contains may exist and has to be
+ * looked up. {@link ExistenceFilterListener} adds every key written through JPA on this node and publishes it on a
+ * Hazelcast topic for the other nodes. Keys cannot be removed from a Bloom filter, so the filters are rebuilt from
+ * the database on startup and then periodically, which forgets deleted keys. Until the first rebuild every key may
+ * exist. Keys added within the replay window before a rebuild are added to the rebuilt filter as well, so that
+ * transactions still running while the database was read are not forgotten.</p>
+ */
+@Slf4j
+@Component
+public class ExistenceFilters {
+
+    /**
+     * Name of the Hazelcast topic added keys are published on.
+     */
+    public static final String ADDITION_TOPIC = "existence-filter-additions";
+
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
+    private final SolutionRepository solutionRepo;
+    private final ITopic<Addition> topic;
+
+    private final Filter tasks;
+    private final Filter users;
+    private final Filter usernames;
+    private final Filter emails;
+    private final Filter solutions;
+    private final Map<String, Filter> filters;
+
+    @Autowired
+    public ExistenceFilters(TaskRepository taskRepo, UserRepository userRepo, SolutionRepository solutionRepo,
+                            HazelcastInstance hazelcast,
+                            @Value("${existence-filters.expected-keys:1000000}") long expectedKeys,
+                            @Value("${existence-filters.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${existence-filters.replay-window:PT1M}") Duration replayWindow) {
+        this.taskRepo = taskRepo;
+        this.userRepo = userRepo;
+        this.solutionRepo = solutionRepo;
+        this.tasks = new Filter(expectedKeys, falsePositiveRate, replayWindow);
+        this.users = new Filter(expectedKeys, falsePositiveRate, replayWindow);
+        this.usernames = new Filter(expectedKeys, falsePositiveRate, replayWindow);
+        this.emails = new Filter(expectedKeys, falsePositiveRate, replayWindow);
+        this.solutions = new Filter(expectedKeys, falsePositiveRate, replayWindow);
+        this.filters = Map.of("tasks", tasks, "users", users, "usernames", usernames, "emails", emails,
+                "solutions", solutions);
+        this.topic = hazelcast.getTopic(ADDITION_TOPIC);
+        topic.addMessageListener(this::onAddition);
+    }
+
+    /**
+     * @param id the ID of a task
+     * @return false if the task definitely does not exist
+     */
+    public boolean mightExistTask(Integer id) {
+        return tasks.mightContain(id);
+    }
+
+    /**
+     * @param id the ID of a user
+     * @return false if the user definitely does not exist
+     */
+    public boolean mightExistUser(Integer id) {
+        return users.mightContain(id);
+    }
+
+    /**
+     * @param username a username
+     * @return false if no user with the username definitely exists
+     */
+    public boolean mightExistUsername(String username) {
+        return usernames.mightContain(username);
+    }
+
+    /**
+     * @param email an email
+     * @return false if no user with the email definitely exists
+     */
+    public boolean mightExistEmail(String email) {
+        return emails.mightContain(email);
+    }
+
+    /**
+     * @param id the ID of a solution
+     * @return false if the solution definitely does not exist
+     */
+    public boolean mightExistSolution(Integer id) {
+        return solutions.mightContain(id);
+    }
+
+    /**
+     * Adds the keys of an entity on this node and publishes them to the other nodes.
+     *
+     * @param entity the persisted task, user or solution, or the updated user
+     */
+    public void added(Object entity) {
+        if (entity instanceof Task task) {
+            add("tasks", task.getId());
+        } else if (entity instanceof User user) {
+            add("users", user.getId());
+            add("usernames", user.getUsername());
+            add("emails", user.getEmail());
+        } else if (entity instanceof Solution solution) {
+            add("solutions", solution.getId());
+        }
+    }
+
+    /**
+     * Rebuilds every filter from the keys in the database.
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${existence-filters.rebuild-interval:PT10M}",
+            fixedDelayString = "${existence-filters.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        final long started = System.nanoTime();
+        final Rebuild taskIds = tasks.startRebuild();
+        try (Stream<Integer> ids = taskRepo.streamIds()) {
+            ids.forEach(taskIds.filter()::add);
+        }
+        tasks.finishRebuild(taskIds);
+        final Rebuild userIds = users.startRebuild();
+        final Rebuild userUsernames = usernames.startRebuild();
+        final Rebuild userEmails = emails.startRebuild();
+        try (Stream<UserKeys> keys = userRepo.streamKeys()) {
+            keys.forEach(key -> {
+                userIds.filter().add(key.id());
+                userUsernames.filter().add(key.username());
+                userEmails.filter().add(key.email());
+            });
+        }
+        users.finishRebuild(userIds);
+        usernames.finishRebuild(userUsernames);
+        emails.finishRebuild(userEmails);
+        final Rebuild solutionIds = solutions.startRebuild();
+        try (Stream<Integer> ids = solutionRepo.streamIds()) {
+            ids.forEach(solutionIds.filter()::add);
+        }
+        solutions.finishRebuild(solutionIds);
+        log.info("Existence filters rebuilt in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void add(String filter, Object key) {
+        if (key == null) return;
+        filters.get(filter).add(key);
+        topic.publish(new Addition(filter, key));
+    }
+
+    private void onAddition(Message<Addition> message) {
+        final Member publisher = message.getPublishingMember();
+        if (publisher != null && publisher.localMember()) return;
+        final Addition addition = message.getMessageObject();
+        final Filter filter = filters.get(addition.filter());
+        if (filter != null) filter.add(addition.key());
+    }
+
+    /**
+     * A key added on another node.
+     *
+     * @param filter the name of the filter
+     * @param key    the added key
+     */
+    record Addition(String filter, Object key) implements Serializable {
+    }
+
+    private record Rebuild(long startedAt, BloomFilter filter) {
+    }
+
+    private record Added(long at, Object key) {
+    }
+
+    /**
+     * One Bloom filter that is swapped for a rebuilt one, together with the keys recently added to it.
+     */
+    private static final class Filter {
+
+        private final long expectedKeys;
+        private final double falsePositiveRate;
+        private final long replayWindowNanos;
+        private final Queue<Added> recent = new ConcurrentLinkedQueue<>();
+        private volatile BloomFilter current;
+
+        private Filter(long expectedKeys, double falsePositiveRate, Duration replayWindow) {
+            this.expectedKeys = expectedKeys;
+            this.falsePositiveRate = falsePositiveRate;
+            this.replayWindowNanos = replayWindow.toNanos();
+        }
+
+        private boolean mightContain(Object key) {
+            final BloomFilter filter = current;
+            return filter == null || filter.mightContain(key);
+        }
+
+        private void add(Object key) {
+            // logged before the filter is read, so a rebuild either sees the key in the log or the key reaches it
+            recent.add(new Added(System.nanoTime(), key));
+            final BloomFilter filter = current;
+            if (filter != null) filter.add(key);
+        }
+
+        private Rebuild startRebuild() {
+            return new Rebuild(System.nanoTime(), new BloomFilter(expectedKeys, falsePositiveRate));
+        }
+
+        private void finishRebuild(Rebuild rebuild) {
+            final long since = rebuild.startedAt() - replayWindowNanos;
+            recent.removeIf(added -> added.at() - since < 0);
+            recent.forEach(added -> rebuild.filter().add(added.key()));
+            current = rebuild.filter();
+            // keys added while the log was replayed may only have reached the previous filter
+            recent.forEach(added -> rebuild.filter().add(added.key()));
+        }
+    }
+}
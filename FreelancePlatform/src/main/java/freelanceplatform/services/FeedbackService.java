@@ -9,8 +9,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,7 +35,7 @@ public class FeedbackService implements IService<Feedback, Integer> {
      * @return the updated feedback
      */
     @Transactional
-    @CachePut(key = "#newFb.id")
+    @CacheEvict(key = "#newFb.id")
     public Feedback update(Feedback newFb) {
         Objects.requireNonNull(newFb);
         log.info("Updating feedback with id {}", newFb.getId());
@@ -55,7 +53,6 @@ public class FeedbackService implements IService<Feedback, Integer> {
      * @return the saved feedback
      */
     @Transactional
-    @CachePut(key = "#feedback.id")
     public Feedback save(Feedback feedback) {
         Objects.requireNonNull(feedback);
         log.info("Saving new feedback with id {}", feedback.getId());
@@ -75,7 +72,6 @@ public class FeedbackService implements IService<Feedback, Integer> {
      * @return an Optional containing the found feedback, or empty if not found
      */
     @Transactional(readOnly = true)
-    @Cacheable
     public Optional<Feedback> findById(Integer id) {
         Objects.requireNonNull(id);
         log.info("Finding feedback by id {}", id);
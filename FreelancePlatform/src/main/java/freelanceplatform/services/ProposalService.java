@@ -10,8 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,7 +37,7 @@ public class ProposalService implements IService<Proposal, Integer> {
      * @return the updated proposal
      */
     @Transactional
-    @CachePut(key = "#proposal.id")
+    @CacheEvict(key = "#proposal.id")
     public Proposal update(Proposal proposal) {
         Objects.requireNonNull(proposal);
         log.info("Updating proposal with id {}", proposal.getId());
@@ -57,7 +55,6 @@ public class ProposalService implements IService<Proposal, Integer> {
      * @return the saved proposal
      */
     @Transactional
-    @CachePut(key = "#proposal.id")
     public Proposal save(Proposal proposal) {
         Objects.requireNonNull(proposal);
         log.info("Saving new proposal with id {}", proposal.getId());
@@ -80,7 +77,6 @@ public class ProposalService implements IService<Proposal, Integer> {
      * @return an Optional containing the found proposal, or empty if not found
      */
     @Transactional(readOnly = true)
-    @Cacheable
     public Optional<Proposal> findById(Integer id) {
         Objects.requireNonNull(id);
         log.info("Finding proposal by id {}", id);
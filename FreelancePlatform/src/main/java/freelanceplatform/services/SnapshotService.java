@@ -0,0 +1,111 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.*;
+import freelanceplatform.dto.snapshot.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cache-facing reads of single tasks, users, proposals, feedbacks and solutions.
+ *
+ * <p>The caches hold immutable snapshots loaded by projection queries, never entities, so a cache entry is a handful
+ * of columns instead of a serialized object graph and reading it can never trigger lazy loading. The entity services
+ * evict the snapshot of everything they change; missing ids are not cached. Concurrent misses of the same id share
+ * one load, see {@link freelanceplatform.cache.SingleFlightCache}.</p>
+ */
+@Service
+@Slf4j
+public class SnapshotService {
+
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
+    private final ProposalRepository proposalRepo;
+    private final FeedbackRepository feedbackRepo;
+    private final SolutionRepository solutionRepo;
+
+    @Autowired
+    public SnapshotService(TaskRepository taskRepo, UserRepository userRepo, ProposalRepository proposalRepo,
+                           FeedbackRepository feedbackRepo, SolutionRepository solutionRepo) {
+        this.taskRepo = taskRepo;
+        this.userRepo = userRepo;
+        this.proposalRepo = proposalRepo;
+        this.feedbackRepo = feedbackRepo;
+        this.solutionRepo = solutionRepo;
+    }
+
+    /**
+     * Retrieves the snapshot of a task.
+     *
+     * @param id ID of the task.
+     * @return the snapshot, or empty if the task does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "tasks", sync = true)
+    public Optional<TaskSnapshot> findTask(Integer id) {
+        log.info("Loading snapshot of task with id {}", id);
+        Objects.requireNonNull(id);
+        return taskRepo.findSnapshotById(id);
+    }
+
+    /**
+     * Retrieves the snapshot of a user.
+     *
+     * @param id ID of the user.
+     * @return the snapshot, or empty if the user does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "users", sync = true)
+    public Optional<UserSnapshot> findUser(Integer id) {
+        log.info("Loading snapshot of user with id {}", id);
+        Objects.requireNonNull(id);
+        return userRepo.findSnapshotById(id);
+    }
+
+    /**
+     * Retrieves the snapshot of a proposal.
+     *
+     * @param id ID of the proposal.
+     * @return the snapshot, or empty if the proposal does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "proposals", sync = true)
+    public Optional<ProposalSnapshot> findProposal(Integer id) {
+        log.info("Loading snapshot of proposal with id {}", id);
+        Objects.requireNonNull(id);
+        return proposalRepo.findSnapshotById(id);
+    }
+
+    /**
+     * Retrieves the snapshot of a feedback.
+     *
+     * @param id ID of the feedback.
+     * @return the snapshot, or empty if the feedback does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "feedbacks", sync = true)
+    public Optional<FeedbackSnapshot> findFeedback(Integer id) {
+        log.info("Loading snapshot of feedback with id {}", id);
+        Objects.requireNonNull(id);
+        return feedbackRepo.findSnapshotById(id);
+    }
+
+    /**
+     * Retrieves the snapshot of a solution.
+     *
+     * @param id ID of the solution.
+     * @return the snapshot, or empty if the solution does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "solutions", sync = true)
+    public Optional<SolutionSnapshot> findSolution(Integer id) {
+        log.info("Loading snapshot of solution with id {}", id);
+        Objects.requireNonNull(id);
+        return solutionRepo.findSnapshotById(id);
+    }
+}
@@ -22,11 +22,13 @@ public class SolutionService implements IService<Solution, Integer>{
 
     private final SolutionRepository solutionRepo;
     private final TaskRepository taskRepo;
+    private final ExistenceFilters existenceFilters;
 
     @Autowired
-    public SolutionService(SolutionRepository solutionRepo, TaskRepository taskRepo) {
+    public SolutionService(SolutionRepository solutionRepo, TaskRepository taskRepo, ExistenceFilters existenceFilters) {
         this.solutionRepo = solutionRepo;
         this.taskRepo = taskRepo;
+        this.existenceFilters = existenceFilters;
     }
 
     /**
@@ -34,7 +36,6 @@ public class SolutionService implements IService<Solution, Integer>{
      *
      * @param solution Solution object to be saved.
      */
-    @CachePut(key = "#solution.id")
     @Transactional
     public Solution save(Solution solution) {
         Objects.requireNonNull(solution);
@@ -65,7 +66,6 @@ public class SolutionService implements IService<Solution, Integer>{
      * @throws NotFoundException if the solution with the specified ID is not found.
      */
     @Transactional(readOnly = true)
-    @Cacheable
     public Optional<Solution> findById(Integer id) {
         Objects.requireNonNull(id);
         log.info("Finding solution by id {}.", id);
@@ -82,7 +82,6 @@ public class SolutionService implements IService<Solution, Integer>{
      * @throws NotFoundException if no solution is found for the specified task.
      */
     @Transactional(readOnly = true)
-    @Cacheable
     public Solution getByTask(Task task) {
         Objects.requireNonNull(task);
         log.info("Finding solution with id {} by task with id {}.",task.getSolution().getId(), task.getId());
@@ -101,7 +100,7 @@ public class SolutionService implements IService<Solution, Integer>{
     public boolean exists(Integer id) {
         log.info("Checking if solution with id {} exists.", id);
         Objects.requireNonNull(id);
-        return solutionRepo.existsById(id);
+        return existenceFilters.mightExistSolution(id) && solutionRepo.existsById(id);
     }
 
     /**
@@ -111,7 +110,7 @@ public class SolutionService implements IService<Solution, Integer>{
      * @throws NotFoundException if the solution to update is not found.
      */
     @Transactional
-    @CachePut(key = "#solution.id")
+    @CacheEvict(key = "#solution.id")
     public Solution update(Solution solution) {
         Objects.requireNonNull(solution);
         log.info("Updating solution with id {} ", solution.getId());
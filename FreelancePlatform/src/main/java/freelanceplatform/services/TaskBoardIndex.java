@@ -0,0 +1,337 @@
+package freelanceplatform.services;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.dto.Mapper;
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of the task board, i.e. of all unassigned tasks that have not expired, ordered by posted date.
+ *
+ * <p>The index keeps one ordered map for the whole board and one per {@link TaskType}, so every board page is a
+ * range walk in either direction instead of a query. {@link TaskService} reports each change as it runs; changes
+ * made in a transaction are queued and only applied once it commits, so the board never shows uncommitted tasks.
+ * Applied changes are published on a Hazelcast topic, and the other nodes apply them as well. The index is rebuilt
+ * from the database on startup and then periodically, which repairs changes a node missed or received out of order
+ * when two nodes changed the same task at once. The board version is a fingerprint of the board content, so nodes
+ * holding the same board report the same version.</p>
+ */
+@Slf4j
+@Component
+public class TaskBoardIndex {
+
+    /**
+     * Name of the Hazelcast topic applied changes are published on.
+     */
+    public static final String CHANGE_TOPIC = "task-board-changes";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepo;
+    private final Mapper mapper;
+    private final ITopic<Change> topic;
+    private final Object rebuildLock = new Object();
+
+    private volatile Board board = new Board();
+    private volatile Queue<Change> rebuildJournal;
+    private volatile Instant lastRebuild = Instant.EPOCH;
+
+    @Autowired
+    public TaskBoardIndex(TaskRepository taskRepo, @Lazy Mapper mapper, HazelcastInstance hazelcast,
+                          MeterRegistry meterRegistry) {
+        this.taskRepo = taskRepo;
+        this.mapper = mapper;
+        this.topic = hazelcast.getTopic(CHANGE_TOPIC);
+        topic.addMessageListener(this::onChange);
+        Gauge.builder("task.board.index.size", this, TaskBoardIndex::size)
+                .description("Number of unassigned tasks held by the task board index")
+                .register(meterRegistry);
+        Gauge.builder("task.board.index.staleness", this, index -> index.staleness().toMillis() / 1000.0)
+                .description("Seconds since the task board index was last rebuilt from the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns one page of the task board.
+     *
+     * @param type       TaskType to filter tasks by, or null for all types.
+     * @param fromNewest Whether to walk the board from newest to oldest.
+     * @param after      Position of the last task on the previous page in posted date order, or null for the first page.
+     * @param limit      Maximum number of tasks to return.
+     * @return List of task DTOs in board order.
+     */
+    public List<TaskReadUpdate> page(TaskType type, boolean fromNewest, TaskBoardCursor after, int limit) {
+        final Board current = board;
+        ConcurrentNavigableMap<Key, TaskReadUpdate> range = type == null ? current.all : current.byType.get(type);
+        if (after != null) {
+            final Key from = Key.of((LocalDateTime) after.value(), after.id());
+            range = fromNewest ? range.headMap(from, false) : range.tailMap(from, false);
+        }
+        if (fromNewest) range = range.descendingMap();
+        return range.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * Applies the current state of a task: unassigned tasks that have not expired are put on the board,
+     * all others are taken off it.
+     * Within a transaction the change is applied after the commit. The change is published to the other nodes.
+     *
+     * @param task the task after the change.
+     */
+    public void apply(Task task) {
+        Objects.requireNonNull(task.getId());
+        final Entry entry = task.getStatus() == TaskStatus.UNASSIGNED && !task.isExpired()
+                ? new Entry(Key.of(task.getPostedDate(), task.getId()), task.getType(), mapper.toTaskReadUpdate(task))
+                : null;
+        changeAfterCommit(new Change(task.getId(), entry));
+    }
+
+    /**
+     * Takes a task off the board. Within a transaction the task is taken off after the commit.
+     * The change is published to the other nodes.
+     *
+     * @param id the ID of the removed task.
+     */
+    public void remove(Integer id) {
+        Objects.requireNonNull(id);
+        changeAfterCommit(new Change(id, null));
+    }
+
+    /**
+     * Reloads the whole board from the database and swaps it in.
+     * Changes applied while the reload runs are replayed on top of the new board.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${task-board.index.rebuild-interval:PT5M}",
+            fixedDelayString = "${task-board.index.rebuild-interval:PT5M}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            doRebuild();
+        }
+    }
+
+    private void doRebuild() {
+        log.info("Rebuilding task board index");
+        final Instant started = Instant.now();
+        final Queue<Change> journal = new ConcurrentLinkedQueue<>();
+        rebuildJournal = journal;
+        try {
+            final Board rebuilt = new Board();
+            List<TaskReadUpdate> page = taskRepo.findBoardPageFromOldest(TaskStatus.UNASSIGNED, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            while (!page.isEmpty()) {
+                page.forEach(task -> rebuilt.put(task.getId(),
+                        new Entry(Key.of(task.getPostedDate(), task.getId()), task.getType(), task)));
+                final TaskReadUpdate last = page.get(page.size() - 1);
+                page = taskRepo.findBoardPageFromOldestAfter(TaskStatus.UNASSIGNED, last.getPostedDate(), last.getId(),
+                        PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            }
+            synchronized (this) {
+                journal.forEach(change -> rebuilt.put(change.id(), change.entry()));
+                board = rebuilt;
+                rebuildJournal = null;
+            }
+            lastRebuild = started;
+            log.info("Task board index rebuilt with {} tasks in {} ms", rebuilt.keys.size(),
+                    Duration.between(started, Instant.now()).toMillis());
+        } finally {
+            rebuildJournal = null;
+        }
+    }
+
+    /**
+     * Returns the version of the board, which changes with every change to the tasks on the board.
+     * The version depends on the board content only, so it stays the same across a rebuild that finds the same tasks
+     * and every node holding the same board returns the same version.
+     *
+     * @return the board version.
+     */
+    public String version() {
+        return Long.toHexString(board.fingerprint);
+    }
+
+    /**
+     * Returns the number of tasks on the board.
+     *
+     * @return the index size.
+     */
+    public int size() {
+        return board.keys.size();
+    }
+
+    /**
+     * Returns the time elapsed since the index was last rebuilt from the database.
+     *
+     * @return the index staleness.
+     */
+    public Duration staleness() {
+        return Duration.between(lastRebuild, Instant.now());
+    }
+
+    /**
+     * Queues a change until the current transaction commits, or applies and publishes it right away outside
+     * a transaction. Changes are kept per transaction, only the last change of each task is applied and nothing is
+     * applied on a rollback. A rebuild reading the database after the commit sees the change; one that started before
+     * journals it, so the change reaches the rebuilt board either way.
+     */
+    @SuppressWarnings("unchecked")
+    private void changeAfterCommit(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeAndPublish(change);
+            return;
+        }
+        Map<Integer, Change> pending = (Map<Integer, Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            final Map<Integer, Change> newPending = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, newPending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    newPending.values().forEach(TaskBoardIndex.this::changeAndPublish);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskBoardIndex.this);
+                }
+            });
+            pending = newPending;
+        }
+        pending.put(change.id(), change);
+    }
+
+    private void changeAndPublish(Change change) {
+        change(change);
+        topic.publish(change);
+    }
+
+    private void onChange(Message<Change> message) {
+        final Member publisher = message.getPublishingMember();
+        if (publisher != null && publisher.localMember()) return;
+        change(message.getMessageObject());
+    }
+
+    private void change(Change change) {
+        synchronized (this) {
+            board.put(change.id(), change.entry());
+            final Queue<Change> journal = rebuildJournal;
+            if (journal != null) journal.add(change);
+        }
+    }
+
+    /**
+     * Position of a task on the board.
+     * Posted dates are truncated to the database precision, so keys survive a rebuild unchanged.
+     */
+    private record Key(LocalDateTime postedDate, Integer id) implements Comparable<Key>, Serializable {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::postedDate).thenComparing(Key::id);
+
+        private static Key of(LocalDateTime postedDate, Integer id) {
+            return new Key(postedDate.truncatedTo(ChronoUnit.MICROS), id);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Entry(Key key, TaskType type, TaskReadUpdate task) implements Serializable {
+    }
+
+    /**
+     * A change to one task; a null entry means the task is not on the board.
+     */
+    record Change(Integer id, Entry entry) implements Serializable {
+    }
+
+    private static class Board {
+
+        private final ConcurrentNavigableMap<Key, TaskReadUpdate> all = new ConcurrentSkipListMap<>();
+        private final Map<TaskType, ConcurrentNavigableMap<Key, TaskReadUpdate>> byType = new EnumMap<>(TaskType.class);
+        private final Map<Integer, Entry> keys = new ConcurrentHashMap<>();
+        // sum of the hashes of all entries, so it does not depend on the order the board was built in
+        private volatile long fingerprint;
+
+        private Board() {
+            for (TaskType type : TaskType.values()) byType.put(type, new ConcurrentSkipListMap<>());
+        }
+
+        /**
+         * Replaces the entry of a task, a null entry removes it.
+         *
+         * @return the previous entry of the task.
+         */
+        private Entry put(Integer id, Entry entry) {
+            final Entry previous = entry == null ? keys.remove(id) : keys.put(id, entry);
+            long updated = fingerprint;
+            if (previous != null) {
+                all.remove(previous.key());
+                byType.get(previous.type()).remove(previous.key());
+                updated -= hash(previous.task());
+            }
+            if (entry != null) {
+                all.put(entry.key(), entry.task());
+                byType.get(entry.type()).put(entry.key(), entry.task());
+                updated += hash(entry.task());
+            }
+            fingerprint = updated;
+            return previous;
+        }
+
+        /**
+         * Hashes the fields of a task the same way on every node: enums by name and dates at the database precision,
+         * so a task read back from the database hashes like the one it was written from.
+         */
+        private static long hash(TaskReadUpdate task) {
+            long hash = 1;
+            for (Object field : new Object[]{task.getId(), task.getCustomerUsername(), task.getFreelancerUsername(),
+                    task.getTitle(), task.getProblem(), truncate(task.getDeadline()), task.getPayment(),
+                    name(task.getType()), name(task.getStatus()), truncate(task.getPostedDate()), task.isExpired()}) {
+                hash = hash * 0x9E3779B97F4A7C15L + Objects.hashCode(field);
+            }
+            hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+            hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return hash ^ (hash >>> 33);
+        }
+
+        private static LocalDateTime truncate(LocalDateTime dateTime) {
+            return dateTime == null ? null : dateTime.truncatedTo(ChronoUnit.MICROS);
+        }
+
+        private static String name(Enum<?> value) {
+            return value == null ? null : value.name();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.dto.TaskDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel that expires tasks when their deadline passes.
+ *
+ * <p>The wheel has one bucket per tick and covers a horizon of {@code wheel-size} ticks. Deadlines within the horizon
+ * are loaded from the database on startup and on every refresh; {@link TaskService} schedules tasks it creates or
+ * reschedules. Every tick drains the buckets that became due and hands their tasks to
+ * {@link TaskService#expire(java.util.Collection)} in a single batch. Deadlines beyond the horizon are picked up by a
+ * later refresh, so the refresh interval must stay below the horizon.</p>
+ */
+@Slf4j
+@Component
+public class TaskExpiryWheel {
+
+    private final TaskRepository taskRepo;
+    private final TaskService taskService;
+    private final long tickMillis;
+    private final List<Integer>[] buckets;
+
+    private long currentTick;
+
+    @Autowired
+    public TaskExpiryWheel(TaskRepository taskRepo,
+                           @Lazy TaskService taskService,
+                           @Value("${task-expiry.tick:PT1S}") Duration tick,
+                           @Value("${task-expiry.wheel-size:1024}") int wheelSize) {
+        this.taskRepo = taskRepo;
+        this.taskService = taskService;
+        this.tickMillis = tick.toMillis();
+        @SuppressWarnings("unchecked")
+        final List<Integer>[] buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) buckets[i] = new ArrayList<>();
+        this.buckets = buckets;
+        this.currentTick = Math.floorDiv(Instant.now().toEpochMilli(), tickMillis);
+    }
+
+    /**
+     * Schedules a task to expire at its deadline. Overdue tasks expire with the next tick,
+     * tasks due beyond the horizon are left to a later refresh.
+     *
+     * @param id       the ID of the task
+     * @param deadline the deadline of the task
+     */
+    public synchronized void schedule(Integer id, LocalDateTime deadline) {
+        final long due = Math.max(dueTickOf(deadline.atZone(ZoneId.systemDefault()).toInstant()), currentTick);
+        if (due - currentTick >= buckets.length) return;
+        buckets[(int) (due % buckets.length)].add(id);
+    }
+
+    /**
+     * Returns the time span the wheel covers ahead of now.
+     *
+     * @return the horizon
+     */
+    public Duration horizon() {
+        return Duration.ofMillis(tickMillis * buckets.length);
+    }
+
+    /**
+     * Loads all pending deadlines within the horizon from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${task-expiry.refresh-interval:PT5M}",
+            fixedDelayString = "${task-expiry.refresh-interval:PT5M}")
+    public void refresh() {
+        final List<TaskDeadline> deadlines = taskRepo.findDeadlinesBefore(LocalDateTime.now().plus(horizon()));
+        deadlines.forEach(deadline -> schedule(deadline.id(), deadline.deadline()));
+        log.info("Scheduled {} task deadlines within {}", deadlines.size(), horizon());
+    }
+
+    /**
+     * Advances the wheel to now and expires all tasks that became due.
+     */
+    @Scheduled(fixedRateString = "${task-expiry.tick:PT1S}")
+    public void tick() {
+        final List<Integer> due = advance(Instant.now());
+        if (!due.isEmpty()) taskService.expire(due);
+    }
+
+    /**
+     * Advances the wheel up to the given time.
+     *
+     * @param now the time to advance to
+     * @return the IDs of the tasks in all buckets passed
+     */
+    synchronized List<Integer> advance(Instant now) {
+        final long target = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        final List<Integer> due = new ArrayList<>();
+        // a long pause drains the whole wheel at most once
+        for (long tick = Math.max(currentTick, target - buckets.length + 1); tick <= target; tick++) {
+            final List<Integer> bucket = buckets[(int) (tick % buckets.length)];
+            due.addAll(bucket);
+            bucket.clear();
+        }
+        currentTick = Math.max(currentTick, target + 1);
+        return due;
+    }
+
+    /**
+     * Returns the first tick starting at or after the given time, so a task never leaves the wheel before its deadline.
+     */
+    private long dueTickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+}
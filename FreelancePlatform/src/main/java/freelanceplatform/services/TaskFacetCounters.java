@@ -0,0 +1,128 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.dto.TaskBoardFacets;
+import freelanceplatform.dto.TaskFacet;
+import freelanceplatform.dto.TaskFacetCount;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live numbers of open tasks per {@link TaskType} and per {@link TaskStatus}.
+ *
+ * <p>There is one striped {@link LongAdder} per type and status, so concurrent transitions never contend on a
+ * single counter and reading the facets never touches the database. {@link TaskService} reports every transition
+ * as it runs; a transition made in a transaction is only counted once the transaction commits, so the counters
+ * never include uncommitted work. The counters are reconciled against the database on startup and then
+ * periodically, which also picks up changes made by other nodes. A transition committed while the reconciliation
+ * query runs may be miscounted until the next reconciliation.</p>
+ */
+@Slf4j
+@Component
+public class TaskFacetCounters {
+
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepo;
+    private final LongAdder[][] counters = new LongAdder[TYPES.length][STATUSES.length];
+
+    @Autowired
+    public TaskFacetCounters(TaskRepository taskRepo) {
+        this.taskRepo = taskRepo;
+        for (LongAdder[] byStatus : counters)
+            for (int i = 0; i < byStatus.length; i++) byStatus[i] = new LongAdder();
+    }
+
+    /**
+     * Records a transition of a task. Either side may be null or not open, for created and deleted tasks
+     * or for tasks leaving or entering the counted set. Within a transaction the transition is counted after the
+     * commit and dropped on a rollback.
+     *
+     * @param from the facet of the task before the transition, or null for a new task
+     * @param to   the facet of the task after the transition, or null for a deleted task
+     */
+    public void transition(TaskFacet from, TaskFacet to) {
+        if ((!count(from) && !count(to)) || (from != null && from.equals(to))) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            move(from, to);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                move(from, to);
+            }
+        });
+    }
+
+    /**
+     * Returns the current numbers of open tasks.
+     *
+     * @return the facets of all open tasks
+     */
+    public TaskBoardFacets facets() {
+        final Map<TaskType, Long> types = new EnumMap<>(TaskType.class);
+        final Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+        for (TaskType type : TYPES) types.put(type, 0L);
+        for (TaskStatus status : STATUSES) if (status != TaskStatus.ACCEPTED) statuses.put(status, 0L);
+        for (TaskType type : TYPES) {
+            for (TaskStatus status : statuses.keySet()) {
+                final long count = counter(type, status).sum();
+                types.merge(type, count, Long::sum);
+                statuses.merge(status, count, Long::sum);
+            }
+        }
+        return new TaskBoardFacets(types, statuses);
+    }
+
+    /**
+     * Corrects every counter to the number of open tasks in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${task-board.facets.reconcile-interval:PT5M}",
+            fixedDelayString = "${task-board.facets.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        final long[][] actual = new long[TYPES.length][STATUSES.length];
+        final List<TaskFacetCount> counts = taskRepo.countOpenByTypeAndStatus(TaskStatus.ACCEPTED);
+        counts.forEach(count -> actual[count.type().ordinal()][count.status().ordinal()] = count.count());
+        long drift = 0;
+        for (TaskType type : TYPES) {
+            for (TaskStatus status : STATUSES) {
+                final LongAdder counter = counter(type, status);
+                final long correction = actual[type.ordinal()][status.ordinal()] - counter.sum();
+                // adding the difference instead of resetting the adder keeps transitions lock-free; one counted
+                // between reading the sum and adding the correction stays on top of it until the next reconciliation
+                counter.add(correction);
+                drift += Math.abs(correction);
+            }
+        }
+        if (drift > 0) log.info("Task board facet counters corrected by {}", drift);
+    }
+
+    private void move(TaskFacet from, TaskFacet to) {
+        if (count(from)) counter(from.type(), from.status()).decrement();
+        if (count(to)) counter(to.type(), to.status()).increment();
+    }
+
+    private LongAdder counter(TaskType type, TaskStatus status) {
+        return counters[type.ordinal()][status.ordinal()];
+    }
+
+    private static boolean count(TaskFacet facet) {
+        return facet != null && facet.isOpen();
+    }
+}
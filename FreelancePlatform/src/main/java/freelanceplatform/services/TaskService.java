@@ -4,24 +4,33 @@ package freelanceplatform.services;
 import freelanceplatform.data.SolutionRepository;
 import freelanceplatform.data.TaskRepository;
 import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFacets;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.TaskFacet;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
 import freelanceplatform.exceptions.NotFoundException;
 import freelanceplatform.exceptions.ValidationException;
 import freelanceplatform.kafka.ChangesProducer;
+import freelanceplatform.kafka.events.TaskEvent;
 import freelanceplatform.kafka.topics.TaskChangesTopic;
 import freelanceplatform.model.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static freelanceplatform.kafka.topics.TaskChangesTopic.*;
 
@@ -35,13 +44,26 @@ public class TaskService implements IService<Task, Integer>{
     private final UserRepository userRepo;
     private final SolutionRepository solutionRepo;
     private final ChangesProducer<TaskChangesTopic> taskChangesProducer;
+    private final TaskBoardIndex taskBoardIndex;
+    private final TaskExpiryWheel taskExpiryWheel;
+    private final TaskFacetCounters taskFacetCounters;
+    private final ExistenceFilters existenceFilters;
+    private final CacheInvalidator cacheInvalidator;
 
     @Autowired
-    public TaskService(TaskRepository taskRepo, UserRepository userRepo, SolutionRepository solutionRepo, ChangesProducer<TaskChangesTopic> taskChangesProducer) {
+    public TaskService(TaskRepository taskRepo, UserRepository userRepo, SolutionRepository solutionRepo,
+                       ChangesProducer<TaskChangesTopic> taskChangesProducer, TaskBoardIndex taskBoardIndex,
+                       TaskExpiryWheel taskExpiryWheel, TaskFacetCounters taskFacetCounters,
+                       ExistenceFilters existenceFilters, CacheInvalidator cacheInvalidator) {
         this.taskRepo = taskRepo;
         this.userRepo = userRepo;
         this.solutionRepo = solutionRepo;
         this.taskChangesProducer = taskChangesProducer;
+        this.taskBoardIndex = taskBoardIndex;
+        this.taskExpiryWheel = taskExpiryWheel;
+        this.taskFacetCounters = taskFacetCounters;
+        this.existenceFilters = existenceFilters;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
@@ -49,13 +71,15 @@ public class TaskService implements IService<Task, Integer>{
      *
      * @param task Task object to be saved.
      */
-    @CachePut(key = "#task.id")
     @Transactional
     public Task save(Task task){
         log.info("Saving new task with id {}", task.getId());
         Objects.requireNonNull(task);
         taskRepo.save(task);
-        taskChangesProducer.sendMessage(taskChangesProducer.toJsonString(task), TaskPosted);
+        taskBoardIndex.apply(task);
+        taskFacetCounters.transition(null, TaskFacet.of(task));
+        taskExpiryWheel.schedule(task.getId(), task.getDeadline());
+        taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), TaskPosted);
         return task;
     }
 
@@ -68,7 +92,11 @@ public class TaskService implements IService<Task, Integer>{
     public void saveAll(List<Task> tasks){
         log.info("Saving all tasks");
         Objects.requireNonNull(tasks);
-        taskRepo.saveAll(tasks);
+        taskRepo.saveAll(tasks).forEach(task -> {
+            taskBoardIndex.apply(task);
+            taskFacetCounters.transition(null, TaskFacet.of(task));
+            taskExpiryWheel.schedule(task.getId(), task.getDeadline());
+        });
     }
 
     /**
@@ -79,7 +107,6 @@ public class TaskService implements IService<Task, Integer>{
      * @throws NotFoundException if the task with the specified ID is not found.
      */
     @Transactional(readOnly = true)
-    @Cacheable
     public Optional<Task> findById(Integer id){
         log.info("Finding Task by id {}", id);
         Objects.requireNonNull(id);
@@ -89,13 +116,13 @@ public class TaskService implements IService<Task, Integer>{
     }
 
     /**
-     * Retrieves all unassigned tasks sorted by posted date.
+     * Retrieves all unassigned tasks that have not expired, sorted by posted date.
      *
      * @param fromNewest Whether to sort tasks from newest to oldest.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllTaskBoardByPostedDate(boolean fromNewest){
+    public List<TaskReadUpdate> findAllTaskBoardByPostedDate(boolean fromNewest){
         log.info("Finding all tasks by posted date fromNewest: {}", fromNewest);
         if (fromNewest) {
             return taskRepo.findAllByStatusFromNewest(TaskStatus.UNASSIGNED);
@@ -105,14 +132,30 @@ public class TaskService implements IService<Task, Integer>{
     }
 
     /**
-     * Retrieves all unassigned tasks of a specific type sorted by posted date.
+     * Streams all unassigned tasks that have not expired, sorted by posted date, to the given sink, row by row.
+     *
+     * @param fromNewest Whether to sort tasks from newest to oldest.
+     * @param sink       Consumer receiving each task DTO.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTaskBoardByPostedDate(boolean fromNewest, Consumer<TaskReadUpdate> sink) {
+        log.info("Streaming all tasks by posted date fromNewest: {}", fromNewest);
+        try (Stream<TaskReadUpdate> tasks = fromNewest
+                ? taskRepo.streamAllByStatusFromNewest(TaskStatus.UNASSIGNED)
+                : taskRepo.streamAllByStatusFromOldest(TaskStatus.UNASSIGNED)) {
+            tasks.forEach(sink);
+        }
+    }
+
+    /**
+     * Retrieves all unassigned tasks of a specific type that have not expired, sorted by posted date.
      *
      * @param type       TaskType to filter tasks by.
      * @param fromNewest Whether to sort tasks from newest to oldest.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllTaskBoardByTypeAndPostedDate(TaskType type, boolean fromNewest) {
+    public List<TaskReadUpdate> findAllTaskBoardByTypeAndPostedDate(TaskType type, boolean fromNewest) {
         log.info("Finding all tasks by type: {} and posted date fromNewest: {}", type, fromNewest);
         if (fromNewest) {
             return taskRepo.findAllByTypeAndStatusFromNewest(type, TaskStatus.UNASSIGNED);
@@ -121,15 +164,77 @@ public class TaskService implements IService<Task, Integer>{
         }
     }
 
+    /**
+     * Retrieves one page of unassigned tasks that have not expired and match a filter.
+     * Pages of a single type or of all types ordered by posted date come from the task board index,
+     * all others are queried from the database.
+     *
+     * @param filter Criteria and order of the board.
+     * @param after  Position of the last task on the previous page, or null for the first page.
+     * @param limit  Maximum number of tasks to return.
+     * @return List of task DTOs.
+     * @throws ValidationException if the cursor belongs to a different sort key.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskReadUpdate> findTaskBoardPage(TaskBoardFilter filter, TaskBoardCursor after, int limit) {
+        log.info("Finding task board page by filter: {}, after: {}, limit: {}", filter, after, limit);
+        if (after != null && after.sort() != filter.sort())
+            throw new ValidationException("Task board cursor does not match the sort key");
+        return filter.isPlain()
+                ? taskBoardIndex.page(filter.singleType(), filter.descending(), after, limit)
+                : taskRepo.findBoardPage(filter, after, limit);
+    }
+
+    /**
+     * Searches tasks by title and problem, best matches first.
+     *
+     * @param query  Full-text query in web search syntax.
+     * @param type   TaskType to filter tasks by, or null for all types.
+     * @param status TaskStatus to filter tasks by, or null for all statuses.
+     * @param offset Number of matching tasks to skip.
+     * @param limit  Maximum number of tasks to return.
+     * @return List of matching Task objects.
+     * @throws ValidationException if the query is blank.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> search(String query, TaskType type, TaskStatus status, long offset, int limit) {
+        log.info("Searching tasks by query: {}, type: {}, status: {}, offset: {}, limit: {}", query, type, status, offset, limit);
+        if (query == null || query.isBlank()) throw new ValidationException("Search query must not be blank");
+        return taskRepo.search(query,
+                type == null ? null : type.name(),
+                status == null ? null : status.name(),
+                offset, limit);
+    }
+
+    /**
+     * Returns the version of the task board index, which changes with every change to the board.
+     * Only pages of plain filters are served by the index, so only they can be validated by it.
+     *
+     * @return the task board version.
+     */
+    public String getTaskBoardVersion() {
+        return taskBoardIndex.version();
+    }
+
+    /**
+     * Returns the numbers of open tasks, i.e. of tasks neither accepted nor expired, per type and per status.
+     * The numbers come from in-memory counters and never query the database.
+     *
+     * @return the task board facets.
+     */
+    public TaskBoardFacets getTaskBoardFacets() {
+        return taskFacetCounters.facets();
+    }
+
     /**
      * Retrieves all tasks taken by a user based on deadline status.
      *
      * @param userId ID of the user (freelancer) who took the tasks.
      * @param expired Whether to include expired tasks.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllTakenByUserIdAndDeadlineStatus(Integer userId, boolean expired){
+    public List<TaskReadUpdate> findAllTakenByUserIdAndDeadlineStatus(Integer userId, boolean expired){
         log.info("Finding all taken tasks by user id: {} and deadline status is expired: {}", userId, expired);
         if (expired){
             return taskRepo.findAllTakenByFreelancerIdDeadlineExpired(userId);
@@ -144,10 +249,10 @@ public class TaskService implements IService<Task, Integer>{
      * @param userId     ID of the user (freelancer) who took the tasks.
      * @param taskStatus TaskStatus to filter tasks by.
      * @param expired    Whether to include expired tasks.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllTakenByUserIdAndStatusAndDeadlineStatus(Integer userId, TaskStatus taskStatus, boolean expired){
+    public List<TaskReadUpdate> findAllTakenByUserIdAndStatusAndDeadlineStatus(Integer userId, TaskStatus taskStatus, boolean expired){
         log.info("Finding all taken tasks by user id: {}, task status: {} and deadline status is expired: {}", userId, taskStatus, expired);
         if (expired){
             return taskRepo.findAllTakenByFreelancerIdAndStatusDeadlineExpired(userId, taskStatus);
@@ -161,10 +266,10 @@ public class TaskService implements IService<Task, Integer>{
      *
      * @param userId  ID of the user (customer) who posted the tasks.
      * @param expired Whether to include expired tasks.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllPostedByUserIdAndExpiredStatus(Integer userId, boolean expired){
+    public List<TaskReadUpdate> findAllPostedByUserIdAndExpiredStatus(Integer userId, boolean expired){
         log.info("Finding all posted tasks by user id: {} and deadline status is expired: {}", userId, expired);
         if (expired){
             return taskRepo.findAllPostedByCustomerIdDeadlineExpired(userId);
@@ -179,10 +284,10 @@ public class TaskService implements IService<Task, Integer>{
      * @param userId     ID of the user (customer) who posted the tasks.
      * @param taskStatus TaskStatus to filter tasks by.
      * @param expired    Whether to include expired tasks.
-     * @return Iterable of Task objects.
+     * @return List of task DTOs.
      */
     @Transactional(readOnly = true)
-    public List<Task> findAllPostedByUserIdAndStatusAndExpiredStatus(Integer userId, TaskStatus taskStatus , boolean expired){
+    public List<TaskReadUpdate> findAllPostedByUserIdAndStatusAndExpiredStatus(Integer userId, TaskStatus taskStatus , boolean expired){
         log.info("Finding all posted tasks by user id: {}, task status: {} and deadline status is expired: {}", userId, taskStatus, expired);
         if (expired){
             return taskRepo.findAllPostedByCustomerIdAndStatusDeadlineExpired(userId, taskStatus);
@@ -203,7 +308,20 @@ public class TaskService implements IService<Task, Integer>{
     }
 
     /**
-     * Checks if a task with the given ID exists.
+     * Streams all tasks to the given sink, row by row, without holding them all in memory.
+     *
+     * @param sink Consumer receiving each task DTO.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<TaskReadUpdate> sink) {
+        log.info("Streaming all tasks");
+        try (Stream<TaskReadUpdate> tasks = taskRepo.streamAll()) {
+            tasks.forEach(sink);
+        }
+    }
+
+    /**
+     * Checks if a task with the given ID exists. Ids the existence filter has never seen are answered without a query.
      *
      * @param id ID of the task to check.
      * @return true if a task with the specified ID exists; false otherwise.
@@ -211,30 +329,68 @@ public class TaskService implements IService<Task, Integer>{
     public boolean exists(Integer id){
         log.info("Checking existence of task with id {}", id);
         Objects.requireNonNull(id);
-        return taskRepo.existsById(id);
+        return existenceFilters.mightExistTask(id) && taskRepo.existsById(id);
     }
 
     /**
      * Updates details of an existing task.
+     * A task whose new deadline lies ahead is open again; one whose deadline has passed is expired through
+     * {@link #expire}, so it leaves the board and its {@code task_expired} event is published like for any other task.
      *
      * @param task Updated Task object.
      * @throws ValidationException if the task cannot be updated (e.g., not unassigned).
      * @throws NotFoundException  if the task to update is not found.
      */
     @Transactional
-    @CachePut(key = "#task.id")
+    @CacheEvict(key = "#task.id")
     public Task update(Task task){
         log.info("Updating task with id {}", task.getId());
         Objects.requireNonNull(task);
         if (exists(task.getId())) {
             if (!task.getStatus().equals(TaskStatus.UNASSIGNED))
                 throw new ValidationException("Task can be updated only if it is unassigned");
-            return taskRepo.save(task);
+            final TaskFacet before = taskRepo.findFacetById(task.getId());
+            final boolean due = !task.getDeadline().isAfter(LocalDateTime.now());
+            task.setExpired(due && before.expired());
+            task.touch();
+            final Task updated = taskRepo.save(task);
+            taskBoardIndex.apply(updated);
+            taskFacetCounters.transition(before, TaskFacet.of(updated));
+            taskExpiryWheel.schedule(updated.getId(), updated.getDeadline());
+            if (due && !updated.isExpired() && !expire(List.of(updated.getId())).isEmpty()) updated.setExpired(true);
+            return updated;
         } else {
             throw new NotFoundException("Task to update identified by " + task.getId() + " not found.");
         }
     }
 
+    /**
+     * Marks those of the given tasks whose deadline has passed as expired, in one batched update,
+     * and publishes a {@code task_expired} event for each of them.
+     * Tasks that are not due or already expired are skipped, so the same task may safely be passed more than once.
+     * Every node runs the expiry wheel, so the due tasks are claimed with row locks first and only the tasks this
+     * call claimed are marked, evicted and published; a task expired by another node is left to that node.
+     *
+     * @param ids IDs of the candidate tasks.
+     * @return IDs of the tasks this call marked as expired.
+     */
+    @Transactional
+    public List<Integer> expire(Collection<Integer> ids) {
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        final List<Integer> due = taskRepo.lockIdsDueForExpiry(ids, now);
+        if (due.isEmpty()) return due;
+        log.info("Expiring {} tasks", due.size());
+        taskRepo.markExpired(due, now);
+        taskRepo.findAllById(due).forEach(task -> {
+            // the bulk update bypasses the entity listeners, so the snapshots are evicted after the commit explicitly
+            cacheInvalidator.changed(task);
+            taskBoardIndex.apply(task);
+            taskFacetCounters.transition(new TaskFacet(task.getType(), task.getStatus(), false), TaskFacet.of(task));
+            taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), TaskExpired);
+        });
+        return due;
+    }
+
     /**
      * Deletes a task by its ID. This method is transactional and will evict any related caches upon successful execution.
      * It ensures that the task is removed from both the customer's posted tasks and the freelancer's taken tasks (if applicable).
@@ -257,6 +413,8 @@ public class TaskService implements IService<Task, Integer>{
                     }
                     userRepo.save(task.getCustomer());
                     taskRepo.delete(task);
+                    taskBoardIndex.remove(id);
+                    taskFacetCounters.transition(TaskFacet.of(task), null);
                     return true;
                 }).orElse(false);
     }
@@ -266,20 +424,27 @@ public class TaskService implements IService<Task, Integer>{
      *
      * @param task      Task object to assign a freelancer to.
      * @param freelancer User object representing the freelancer to assign.
+     * @throws ValidationException if the task has expired or its deadline has passed.
      */
     @Transactional
-    @CachePut(key = "#task.id")
+    @CacheEvict(key = "#task.id")
     public Task assignFreelancer(Task task, User freelancer){
         log.info("Assigning freelancer with id {} to task with id: {}", freelancer.getId(), task.getId());
         Objects.requireNonNull(task);
         Objects.requireNonNull(freelancer);
+        if (task.isExpired() || !task.getDeadline().isAfter(LocalDateTime.now()))
+            throw new ValidationException("Expired task cannot be assigned");
+        final TaskFacet before = TaskFacet.of(task);
         task.setStatus(TaskStatus.ASSIGNED);
         task.setFreelancer(freelancer);
         task.setAssignedDate(LocalDateTime.now());
+        task.touch();
         freelancer.addTaskToTaken(task);
         taskRepo.save(task);
         userRepo.save(freelancer);
-        taskChangesProducer.sendMessage(taskChangesProducer.toJsonString(task), FreelancerAssigned);
+        taskBoardIndex.apply(task);
+        taskFacetCounters.transition(before, TaskFacet.of(task));
+        taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), FreelancerAssigned);
 
         return task;
     }
@@ -290,14 +455,18 @@ public class TaskService implements IService<Task, Integer>{
      * @param task Task object to accept a solution for.
      */
     @Transactional
-    @CachePut(key = "#task.id")
+    @CacheEvict(key = "#task.id")
     public Task accept(Task task){
         log.info("Accepting task with id {}", task.getId());
         Objects.requireNonNull(task);
         Objects.requireNonNull(task.getSolution());
+        final TaskFacet before = TaskFacet.of(task);
         task.setStatus(TaskStatus.ACCEPTED);
+        task.touch();
         taskRepo.save(task);
-        taskChangesProducer.sendMessage(taskChangesProducer.toJsonString(task), TaskAccepted);
+        taskBoardIndex.apply(task);
+        taskFacetCounters.transition(before, TaskFacet.of(task));
+        taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), TaskAccepted);
 
         return task;
     }
@@ -308,19 +477,23 @@ public class TaskService implements IService<Task, Integer>{
      * @param task Task object to remove the freelancer from.
      */
     @Transactional
-    @CachePut(key = "#task.id")
+    @CacheEvict(key = "#task.id")
     public Task removeFreelancer(Task task){
         final User freelancer = task.getFreelancer();
         log.info("Removing freelancer with id {} from task with id {}", freelancer.getId(), task.getId());
         Objects.requireNonNull(task);
+        final TaskFacet before = TaskFacet.of(task);
         freelancer.removeTakenTask(task);
         userRepo.save(task.getFreelancer());
-        taskChangesProducer.sendMessage(taskChangesProducer.toJsonString(task), FreelancerRemoved);
+        taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), FreelancerRemoved);
         task.setStatus(TaskStatus.UNASSIGNED);
         task.setFreelancer(null);
         task.setAssignedDate(null);
         task.setSubmittedDate(null);
+        task.touch();
         taskRepo.save(task);
+        taskBoardIndex.apply(task);
+        taskFacetCounters.transition(before, TaskFacet.of(task));
 
         return task;
     }
@@ -332,7 +505,7 @@ public class TaskService implements IService<Task, Integer>{
      * @param solution Solution object to attach.
      */
     @Transactional
-    @CachePut(key = "#taskId")
+    @Caching(evict = {@CacheEvict(key = "#taskId"), @CacheEvict(cacheNames = "solutions", key = "#solution.id")})
     public Task attachSolution(Integer taskId, Solution solution){
         log.info("Attaching solution with id {} to task with id {}", solution.getId(), taskId);
         Task task = taskRepo.findById(taskId).orElse(null);
@@ -340,6 +513,7 @@ public class TaskService implements IService<Task, Integer>{
         Objects.requireNonNull(solution);
 
         task.setSolution(solution);
+        task.touch();
         solution.setTask(task);
 
         taskRepo.save(task);
@@ -354,13 +528,17 @@ public class TaskService implements IService<Task, Integer>{
      * @param task Task object to send for review.
      */
     @Transactional
-    @CachePut(key = "#task.id")
+    @CacheEvict(key = "#task.id")
     public Task senOnReview(Task task){
         log.info("Sending task with id {} on review", task.getId());
+        final TaskFacet before = TaskFacet.of(task);
         task.setStatus(TaskStatus.SUBMITTED);
         task.setSubmittedDate(LocalDateTime.now());
+        task.touch();
         taskRepo.save(task);
-        taskChangesProducer.sendMessage(taskChangesProducer.toJsonString(task), TaskSendOnReview);
+        taskBoardIndex.apply(task);
+        taskFacetCounters.transition(before, TaskFacet.of(task));
+        taskChangesProducer.sendMessage(task.getId(), TaskEvent.of(task).encode(), TaskSendOnReview);
 
         return task;
     }
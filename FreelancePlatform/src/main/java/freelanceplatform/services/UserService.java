@@ -3,21 +3,20 @@ package freelanceplatform.services;
 import freelanceplatform.data.ProposalRepository;
 import freelanceplatform.data.ResumeRepository;
 import freelanceplatform.data.UserRepository;
-import freelanceplatform.dto.Mapper;
 import freelanceplatform.exceptions.NotFoundException;
 import freelanceplatform.exceptions.ValidationException;
 import freelanceplatform.kafka.ChangesProducer;
+import freelanceplatform.kafka.events.UserEvent;
 import freelanceplatform.kafka.topics.UserChangesTopic;
 import freelanceplatform.model.Proposal;
 import freelanceplatform.model.Resume;
 import freelanceplatform.model.User;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,17 +39,18 @@ public class UserService implements IService<User, Integer> {
     private final ProposalRepository proposalRepository;
     private final PasswordEncoder passwordEncoder;
     private final ChangesProducer<UserChangesTopic> userChangesProducer;
-    private final Mapper mapper;
+    private final ExistenceFilters existenceFilters;
 
     @Autowired
     public UserService(UserRepository userRepository, ResumeRepository resumeRepository, ProposalRepository proposalRepository,
-                       PasswordEncoder passwordEncoder, ChangesProducer<UserChangesTopic> userChangesProducer, @Lazy Mapper mapper) {
+                       PasswordEncoder passwordEncoder, ChangesProducer<UserChangesTopic> userChangesProducer,
+                       ExistenceFilters existenceFilters) {
         this.userRepository = userRepository;
         this.resumeRepository = resumeRepository;
         this.proposalRepository = proposalRepository;
         this.passwordEncoder = passwordEncoder;
         this.userChangesProducer = userChangesProducer;
-        this.mapper = mapper;
+        this.existenceFilters = existenceFilters;
     }
 
     /**
@@ -59,7 +59,6 @@ public class UserService implements IService<User, Integer> {
      * @return user
      */
     @Transactional
-    @Cacheable
     public Optional<User> findById(Integer id) {
         Objects.requireNonNull(id);
         log.info("Finding user by id {}", id);
@@ -107,23 +106,28 @@ public class UserService implements IService<User, Integer> {
     }
 
     /**
-     * Saves the user
+     * Saves the user. Usernames and emails the existence filters have never seen are skipped by the existence queries;
+     * a filter may not have learned of a signup on another node yet, so a duplicate rejected by the unique constraints
+     * is reported the same way.
      * @param user to save
      */
     @Transactional
-    @CachePut(key = "#user.id")
     public User save(User user){
         Objects.requireNonNull(user);
         log.info("Saving user with id {}", user.getId());
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (existenceFilters.mightExistUsername(user.getUsername()) && userRepository.existsByUsername(user.getUsername())) {
             throw new ValidationException("User with this username is already exist");
         }
-        if (userRepository.existsByEmail(user.getEmail())){
+        if (existenceFilters.mightExistEmail(user.getEmail()) && userRepository.existsByEmail(user.getEmail())){
             throw new ValidationException("User with this email is already exist");
         }
         user.encodePassword(passwordEncoder);
-        userRepository.save(user);
-        userChangesProducer.sendMessage(mapper.convertUserToJson(user), UserCreated);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicate(e);
+        }
+        userChangesProducer.sendMessage(user.getId(), UserEvent.of(user).encode(), UserCreated);
 
         return user;
     }
@@ -134,14 +138,14 @@ public class UserService implements IService<User, Integer> {
      * @return updated user
      */
     @Transactional
-    @CachePut(key = "#user.id")
+    @CacheEvict(key = "#user.id")
     public User update(User user){
         Objects.requireNonNull(user);
         log.info("Updating user with id {}", user.getId());
         if (exists(user.getId())) {
             user.encodePassword(passwordEncoder);
             System.out.println(user);
-            userChangesProducer.sendMessage(mapper.convertUserToJson(user), UserUpdated);
+            userChangesProducer.sendMessage(user.getId(), UserEvent.of(user).encode(), UserUpdated);
             return userRepository.save(user);
         } else {
             throw new NotFoundException("User with id " + user.getId() + " not found");
@@ -160,7 +164,7 @@ public class UserService implements IService<User, Integer> {
         return userRepository.findById(id)
                 .map(user -> {
                     userRepository.delete(user);
-                    userChangesProducer.sendMessage(mapper.convertUserToJson(user), UserDeleted);
+                    userChangesProducer.sendMessage(user.getId(), UserEvent.of(user).encode(), UserDeleted);
                     return true;
                 }).orElse(false);
     }
@@ -173,7 +177,7 @@ public class UserService implements IService<User, Integer> {
     public boolean exists(Integer id){
         Objects.requireNonNull(id);
         log.info("Checking if user with id {} exists", id);
-        return userRepository.existsById(id);
+        return existenceFilters.mightExistUser(id) && userRepository.existsById(id);
     }
 
     /**
@@ -209,4 +213,15 @@ public class UserService implements IService<User, Integer> {
         if (resume.isEmpty()) throw new NotFoundException("Resume for user with id " + user.getId() + " not found");
         return resume.get();
     }
+
+    private static RuntimeException duplicate(DataIntegrityViolationException e) {
+        final String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        if (User.USERNAME_CONSTRAINT.equalsIgnoreCase(constraint)
+                || User.TABLE_USERNAME_CONSTRAINT.equalsIgnoreCase(constraint))
+            return new ValidationException("User with this username is already exist");
+        if (User.EMAIL_CONSTRAINT.equalsIgnoreCase(constraint))
+            return new ValidationException("User with this email is already exist");
+        return e;
+    }
 }
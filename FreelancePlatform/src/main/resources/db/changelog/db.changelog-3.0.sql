@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.0-task-posted-date-not-null
+UPDATE task
+SET posted_date = COALESCE(assigned_date, now())
+WHERE posted_date IS NULL;
+
+ALTER TABLE task
+    ALTER COLUMN posted_date SET NOT NULL;
+--rollback ALTER TABLE task ALTER COLUMN posted_date DROP NOT NULL;
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.1-task-board-indexes runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_status_posted_date ON task (status, posted_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_type_status_posted_date ON task (type, status, posted_date, id);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_status_posted_date;
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_type_status_posted_date;
+
+--changeset freelanceplatform:3.1-task-taken-posted-indexes runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_freelancer_status_deadline ON task (freelancer_id, status, deadline);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_customer_status_deadline ON task (customer_id, status, deadline);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_freelancer_status_deadline;
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_customer_status_deadline;
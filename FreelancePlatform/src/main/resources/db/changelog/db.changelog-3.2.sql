@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.2-task-search-vector
+ALTER TABLE task
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(problem, '')), 'B')
+    ) STORED;
+--rollback ALTER TABLE task DROP COLUMN search_vector;
+
+--changeset freelanceplatform:3.2-task-search-vector-index runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_search_vector ON task USING GIN (search_vector);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_search_vector;
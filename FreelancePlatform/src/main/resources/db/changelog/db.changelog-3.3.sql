@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.3-task-updated-at
+ALTER TABLE task
+    ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE task
+SET updated_at = posted_date;
+
+ALTER TABLE task
+    ALTER COLUMN updated_at SET DEFAULT now(),
+    ALTER COLUMN updated_at SET NOT NULL;
+--rollback ALTER TABLE task DROP COLUMN updated_at;
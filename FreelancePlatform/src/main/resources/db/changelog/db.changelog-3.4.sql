@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.4-task-expired
+ALTER TABLE task
+    ADD COLUMN expired BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE task
+SET expired = TRUE
+WHERE deadline <= now();
+--rollback ALTER TABLE task DROP COLUMN expired;
+
+--changeset freelanceplatform:3.4-task-expired-indexes runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_freelancer_expired_status ON task (freelancer_id, expired, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_customer_expired_status ON task (customer_id, expired, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_pending_expiry ON task (deadline) WHERE NOT expired;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_freelancer_status_deadline;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_customer_status_deadline;
+--rollback CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_freelancer_status_deadline ON task (freelancer_id, status, deadline);
+--rollback CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_customer_status_deadline ON task (customer_id, status, deadline);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_freelancer_expired_status;
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_customer_expired_status;
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_task_pending_expiry;
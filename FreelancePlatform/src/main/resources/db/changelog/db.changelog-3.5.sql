@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.5-outbox-event
+CREATE TABLE outbox_event
+(
+    id         INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    topic      VARCHAR(255)                             NOT NULL,
+    payload    TEXT                                     NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE              NOT NULL,
+    sent_at    TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_event_unsent ON outbox_event (id) WHERE sent_at IS NULL;
+CREATE INDEX idx_outbox_event_sent_at ON outbox_event (sent_at) WHERE sent_at IS NOT NULL;
+--rollback DROP TABLE outbox_event;
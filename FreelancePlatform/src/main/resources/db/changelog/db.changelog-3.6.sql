@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.6-outbox-event-key
+ALTER TABLE outbox_event
+    ADD COLUMN message_key VARCHAR(255);
+--rollback ALTER TABLE outbox_event DROP COLUMN message_key;
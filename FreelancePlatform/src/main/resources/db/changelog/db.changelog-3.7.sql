@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset freelanceplatform:3.7-outbox-event-binary-payload
+ALTER TABLE outbox_event
+    ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+--rollback ALTER TABLE outbox_event ALTER COLUMN payload TYPE TEXT USING convert_from(payload, 'UTF8');
@@ -10,7 +10,7 @@ import static org.mockito.Mockito.mock;
 public class TestConfig {
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return mock(KafkaTemplate.class);
     }
 }
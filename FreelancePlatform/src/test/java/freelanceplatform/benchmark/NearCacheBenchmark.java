@@ -0,0 +1,110 @@
+package freelanceplatform.benchmark;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import freelanceplatform.config.CachingProperties;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the latency of cache hits served by the partition owner, by another member over the network and by the
+ * near-cache of another member.
+ *
+ * <p>Two members run in this JVM and talk over loopback, so the remote numbers are a lower bound of what a real
+ * network adds. The maps are configured through {@link CachingProperties} like the application caches.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=freelanceplatform.benchmark.NearCacheBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearCacheBenchmark {
+
+    private static final String PLAIN = "plain";
+    private static final String NEAR_CACHED = "nearCached";
+
+    private HazelcastInstance owner;
+    private HazelcastInstance reader;
+    private IMap<Integer, Task> ownerPlain;
+    private IMap<Integer, Task> readerPlain;
+    private IMap<Integer, Task> readerNearCached;
+    private int key;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        final String clusterName = "near-cache-benchmark-" + UUID.randomUUID();
+        owner = Hazelcast.newHazelcastInstance(config(clusterName));
+        reader = Hazelcast.newHazelcastInstance(config(clusterName));
+        while (!owner.getPartitionService().isClusterSafe()) Thread.sleep(100);
+
+        // a key owned by the first member, so every plain read from the second one crosses the network
+        key = IntStream.iterate(1, i -> i + 1)
+                .filter(i -> owner.getPartitionService().getPartition(i).getOwner().localMember())
+                .findFirst().orElseThrow();
+        final Task task = Generator.generateTask();
+        task.setId(key);
+        owner.<Integer, Task>getMap(PLAIN).put(key, task);
+        owner.<Integer, Task>getMap(NEAR_CACHED).put(key, task);
+
+        ownerPlain = owner.getMap(PLAIN);
+        readerPlain = reader.getMap(PLAIN);
+        readerNearCached = reader.getMap(NEAR_CACHED);
+        readerNearCached.get(key);
+    }
+
+    @TearDown
+    public void tearDown() {
+        reader.shutdown();
+        owner.shutdown();
+    }
+
+    @Benchmark
+    public Task ownerHit() {
+        return ownerPlain.get(key);
+    }
+
+    @Benchmark
+    public Task remoteHit() {
+        return readerPlain.get(key);
+    }
+
+    @Benchmark
+    public Task nearCacheHit() {
+        return readerNearCached.get(key);
+    }
+
+    private static Config config(String clusterName) {
+        final Config config = new Config().setClusterName(clusterName);
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        final CachingProperties.NearCache noNearCache =
+                new CachingProperties.NearCache(false, true, InMemoryFormat.BINARY, 1000, EvictionPolicy.LRU, null, null);
+        final CachingProperties.NearCache nearCache =
+                new CachingProperties.NearCache(true, true, InMemoryFormat.BINARY, 1000, EvictionPolicy.LRU, null, null);
+        final CachingProperties.LocalCache noLocal = new CachingProperties.LocalCache(false, 0, null);
+        config.addMapConfig(new CachingProperties.Cache(10000, EvictionPolicy.LRU, null, null, noNearCache, noLocal).toMapConfig(PLAIN));
+        config.addMapConfig(new CachingProperties.Cache(10000, EvictionPolicy.LRU, null, null, nearCache, noLocal).toMapConfig(NEAR_CACHED));
+        return config;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NearCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package freelanceplatform.benchmark;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import freelanceplatform.config.SnapshotSerializers;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
+import freelanceplatform.dto.snapshot.UserSnapshot;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Java and Compact serialization of cached snapshots: the cost to serialize and deserialize an entry and
+ * the size of the serialized entry, which the serializing benchmarks report as the {@code taskBytes} and
+ * {@code userBytes} secondary results.
+ *
+ * <p>Both formats go through the serialization service of a standalone member, the only difference being whether
+ * the snapshot serializers are registered. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=freelanceplatform.benchmark.SerializationBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"java", "compact"})
+    private String format;
+
+    private HazelcastInstance member;
+    private SerializationService serialization;
+    private TaskSnapshot task;
+    private UserSnapshot user;
+    private Data taskData;
+    private Data userData;
+
+    @Setup
+    public void setUp() {
+        final Config config = new Config().setClusterName("serialization-benchmark-" + UUID.randomUUID());
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(false);
+        if (format.equals("compact"))
+            SnapshotSerializers.all().forEach(config.getSerializationConfig().getCompactSerializationConfig()::addSerializer);
+        member = Hazelcast.newHazelcastInstance(config);
+        serialization = ((SerializationServiceSupport) member).getSerializationService();
+
+        final LocalDateTime now = LocalDateTime.now();
+        task = new TaskSnapshot(42, "customer42", "freelancer7", "Translate product documentation",
+                "Translate about forty pages of product documentation from English to German.",
+                now.plusWeeks(2), 1250.0, TaskType.TranslationAndLanguageServices, TaskStatus.ASSIGNED,
+                now.minusDays(3), false, now);
+        user = new UserSnapshot(7, "freelancer7", "Jana", "Novakova", "jana.novakova@example.com", 5, Role.USER);
+        taskData = serialization.toData(task);
+        userData = serialization.toData(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        member.shutdown();
+    }
+
+    /**
+     * The sizes of the serialized entries, reported alongside the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EntrySize {
+
+        public long taskBytes;
+        public long userBytes;
+
+        @Setup(Level.Iteration)
+        public void measure(SerializationBenchmark benchmark) {
+            taskBytes = benchmark.taskData.totalSize();
+            userBytes = benchmark.userData.totalSize();
+        }
+    }
+
+    @Benchmark
+    public Data serializeTask(EntrySize size) {
+        return serialization.toData(task);
+    }
+
+    @Benchmark
+    public TaskSnapshot deserializeTask() {
+        return serialization.toObject(taskData);
+    }
+
+    @Benchmark
+    public Data serializeUser(EntrySize size) {
+        return serialization.toData(user);
+    }
+
+    @Benchmark
+    public UserSnapshot deserializeUser() {
+        return serialization.toObject(userData);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
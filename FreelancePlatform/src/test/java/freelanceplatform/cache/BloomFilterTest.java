@@ -0,0 +1,41 @@
+package freelanceplatform.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    public void addedKeysAreAlwaysContained() {
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(i);
+            filter.add("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i));
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    public void falsePositiveRateStaysNearTarget() {
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add("username" + i);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) if (filter.mightContain("other" + i)) falsePositives++;
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void emptyFilterContainsNothing() {
+        final BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(1));
+        assertFalse(filter.mightContain("username"));
+    }
+}
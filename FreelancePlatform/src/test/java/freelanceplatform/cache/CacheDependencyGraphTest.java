@@ -0,0 +1,59 @@
+package freelanceplatform.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheDependencyGraphTest {
+
+    private record Order(Integer id, Integer customerId, List<Integer> itemIds) {
+    }
+
+    private final CacheDependencyGraph graph = CacheDependencyGraph.builder()
+            .evict(Order.class, "orders", Order::id)
+            .evict(Order.class, "customers", Order::customerId)
+            .evictAll(Order.class, "items", Order::itemIds)
+            .build();
+
+    @Test
+    public void dependentsOfEveryEntityAreCollectedPerCache() {
+        final Map<String, Set<Object>> dependents = graph.dependents(List.of(
+                new Order(1, 10, List.of(100, 101)),
+                new Order(2, 10, List.of(101, 102))));
+
+        assertEquals(Set.of(1, 2), dependents.get("orders"));
+        assertEquals(Set.of(10), dependents.get("customers"));
+        assertEquals(Set.of(100, 101, 102), dependents.get("items"));
+    }
+
+    @Test
+    public void nullKeysAreSkipped() {
+        final Map<String, Set<Object>> dependents = graph.dependents(List.of(new Order(1, null, List.of())));
+
+        assertEquals(Set.of(1), dependents.get("orders"));
+        assertFalse(dependents.containsKey("customers"));
+        assertFalse(dependents.containsKey("items"));
+    }
+
+    @Test
+    public void entitiesOfOtherTypesHaveNoDependents() {
+        assertTrue(graph.dependents(List.of("not an order")).isEmpty());
+    }
+
+    @Test
+    public void onlyEntitiesWithCollectionEdgesNeedLookup() {
+        final CacheDependencyGraph singleKeys = CacheDependencyGraph.builder()
+                .evict(Order.class, "orders", Order::id)
+                .build();
+
+        assertTrue(graph.needsLookup(List.of(new Order(1, 10, List.of()))));
+        assertFalse(singleKeys.needsLookup(List.of(new Order(1, 10, List.of()))));
+        assertFalse(graph.needsLookup(List.of("not an order")));
+    }
+}
@@ -0,0 +1,88 @@
+package freelanceplatform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightCacheTest {
+
+    private ConcurrentMapCache delegate;
+    private Counter coalesced;
+    private SingleFlightCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = new ConcurrentMapCache("tasks");
+        coalesced = new SimpleMeterRegistry().counter("cache.loads.coalesced");
+        cache = new SingleFlightCache(delegate, null, coalesced);
+    }
+
+    @Test
+    public void concurrentMissesShareOneLoad() throws Exception {
+        final int callers = 8;
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(1, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            // every caller but the loading one ends up waiting for the shared load
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalesced.count() < callers - 1 && System.nanoTime() < deadline) Thread.onSpinWait();
+            release.countDown();
+            for (Future<String> result : results) assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, coalesced.count());
+        assertEquals("loaded", delegate.get(1, String.class));
+    }
+
+    @Test
+    public void nullIsReturnedButNotCached() {
+        assertNull(cache.get(1, () -> null));
+
+        assertNull(delegate.get(1));
+        assertEquals("loaded", cache.get(1, () -> "loaded"));
+    }
+
+    @Test
+    public void failedLoadIsRethrownAndNotCached() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(1, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertNull(delegate.get(1));
+        assertEquals("loaded", cache.get(1, () -> "loaded"));
+    }
+
+    @Test
+    public void cachedEntryIsServedWithoutLoading() {
+        delegate.put(1, "cached");
+
+        assertEquals("cached", cache.get(1, () -> fail("must not load")));
+        assertEquals(0, coalesced.count());
+    }
+}
@@ -0,0 +1,119 @@
+package freelanceplatform.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TwoLevelCacheTest {
+
+    private ConcurrentMapCache shared;
+    private List<Object> published;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        shared = new ConcurrentMapCache("tasks");
+        published = new ArrayList<>();
+        cache = new TwoLevelCache(shared, Caffeine.newBuilder().maximumSize(10).build(), published::add);
+    }
+
+    @Test
+    public void getFillsLocalLevelFromSharedLevel() {
+        shared.put(1, "first");
+
+        assertEquals("first", cache.get(1, String.class));
+        shared.put(1, "second");
+
+        assertEquals("first", cache.get(1, String.class));
+        assertEquals(1, cache.localSize());
+    }
+
+    @Test
+    public void putWritesBothLevelsAndPublishesKey() {
+        cache.put(1, "first");
+
+        assertEquals("first", shared.get(1, String.class));
+        assertEquals(1, cache.localSize());
+        assertEquals(List.of(1), published);
+    }
+
+    @Test
+    public void evictDropsBothLevelsAndPublishesKey() {
+        cache.put(1, "first");
+        published.clear();
+
+        cache.evict(1);
+
+        assertNull(cache.get(1));
+        assertNull(shared.get(1));
+        assertEquals(List.of(1), published);
+    }
+
+    @Test
+    public void evictAllDropsBothLevelsAndPublishesOneBatch() {
+        cache.put(1, "first");
+        cache.put(2, "second");
+        cache.put(3, "third");
+        published.clear();
+
+        cache.evictAll(List.of(1, 2));
+
+        assertNull(cache.get(1));
+        assertNull(shared.get(2));
+        assertEquals("third", cache.get(3, String.class));
+        assertEquals(List.of(new CacheInvalidation.Batch(List.of(1, 2))), published);
+    }
+
+    @Test
+    public void invalidateLocalReloadsFromSharedLevel() {
+        cache.put(1, "first");
+        shared.put(1, "second");
+
+        cache.invalidateLocal(1);
+
+        assertEquals("second", cache.get(1, String.class));
+        assertEquals(List.of(1), published);
+    }
+
+    @Test
+    public void loadOnOneNodeKeepsPeerLocalEntry() {
+        final TwoLevelCache peer = new TwoLevelCache(shared, Caffeine.newBuilder().maximumSize(10).build(),
+                published::add);
+        final TwoLevelCache loading = new TwoLevelCache(shared, Caffeine.newBuilder().maximumSize(10).build(),
+                key -> peer.invalidateLocal(key));
+        shared.put(1, "first");
+        assertEquals("first", peer.get(1, String.class));
+        shared.evict(1);
+
+        new SingleFlightCache(loading, null, new SimpleMeterRegistry().counter("coalesced")).get(1, () -> "first");
+
+        assertEquals(1, peer.localSize());
+        assertEquals(1, loading.localSize());
+    }
+
+    @Test
+    public void fillWritesBothLevelsWithoutPublishing() {
+        cache.fill(1, "first");
+
+        assertEquals("first", shared.get(1, String.class));
+        assertEquals(1, cache.localSize());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void getWithLoaderCachesLoadedValue() {
+        assertEquals("loaded", cache.get(1, () -> "loaded"));
+
+        assertEquals("loaded", shared.get(1, String.class));
+        assertEquals("loaded", cache.get(1, () -> "other"));
+    }
+}
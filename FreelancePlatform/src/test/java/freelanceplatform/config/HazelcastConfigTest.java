@@ -0,0 +1,83 @@
+package freelanceplatform.config;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
+import freelanceplatform.dto.snapshot.UserSnapshot;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HazelcastConfigTest extends IntegrationTestBase {
+
+    @Autowired
+    private HazelcastInstance hazelcast;
+
+    @Test
+    public void tasksCacheIsBoundedAndNearCached() {
+        final MapConfig tasks = hazelcast.getConfig().getMapConfig("tasks");
+        assertEquals(EvictionPolicy.LFU, tasks.getEvictionConfig().getEvictionPolicy());
+        assertEquals(50000, tasks.getEvictionConfig().getSize());
+        assertEquals(1800, tasks.getTimeToLiveSeconds());
+        assertNotNull(tasks.getNearCacheConfig());
+        assertTrue(tasks.getNearCacheConfig().isInvalidateOnChange());
+    }
+
+    @Test
+    public void unlistedCacheFallsBackToDefaults() {
+        final MapConfig unlisted = hazelcast.getConfig().getMapConfig("unlisted");
+        assertEquals(EvictionPolicy.LRU, unlisted.getEvictionConfig().getEvictionPolicy());
+        assertEquals(10000, unlisted.getEvictionConfig().getSize());
+        assertNull(unlisted.getNearCacheConfig());
+    }
+
+    @Test
+    public void snapshotsRoundTripInCompactFormat() {
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        final TaskSnapshot task = new TaskSnapshot(-1, "customer", null, "title", "problem", now.plusDays(1), null,
+                TaskType.DigitalMarketing, TaskStatus.UNASSIGNED, now, false, now);
+        final UserSnapshot user = new UserSnapshot(-1, "username", "first", "last", "email@example.com", 3, Role.USER);
+
+        hazelcast.<Integer, TaskSnapshot>getMap("compact-tasks").put(task.id(), task);
+        hazelcast.<Integer, UserSnapshot>getMap("compact-users").put(user.id(), user);
+
+        assertEquals(task, hazelcast.<Integer, TaskSnapshot>getMap("compact-tasks").get(task.id()));
+        assertEquals(user, hazelcast.<Integer, UserSnapshot>getMap("compact-users").get(user.id()));
+        assertSerializedBySnapshotSerializer(task, "TaskSnapshot");
+        assertSerializedBySnapshotSerializer(user, "UserSnapshot");
+    }
+
+    /**
+     * Asserts that a snapshot is written in Compact format by its serializer from {@link SnapshotSerializers}.
+     * Zero-config Compact would name the schema after the fully qualified class name instead.
+     */
+    private void assertSerializedBySnapshotSerializer(Object snapshot, String typeName) {
+        final InternalSerializationService serialization =
+                (InternalSerializationService) ((SerializationServiceSupport) hazelcast).getSerializationService();
+        final Data data = serialization.toData(snapshot);
+        assertEquals(SerializationConstants.TYPE_COMPACT, data.getType());
+        try {
+            final CompactGenericRecord record = (CompactGenericRecord) serialization.readAsInternalGenericRecord(data);
+            assertEquals(typeName, record.getSchema().getTypeName());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        assertEquals(snapshot, serialization.toObject(data));
+    }
+}
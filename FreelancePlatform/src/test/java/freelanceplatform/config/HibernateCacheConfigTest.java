@@ -0,0 +1,51 @@
+package freelanceplatform.config;
+
+import com.hazelcast.config.CacheSimpleConfig;
+import com.hazelcast.core.HazelcastInstance;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.User;
+import freelanceplatform.utils.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = "caching.hibernate.enabled=true")
+public class HibernateCacheConfigTest extends IntegrationTestBase {
+
+    @Autowired
+    private HazelcastInstance hazelcast;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void entityRegionsAreBoundedAndExpire() {
+        final CacheSimpleConfig users = hazelcast.getConfig().findCacheConfigOrNull(User.class.getName());
+        assertNotNull(users);
+        assertEquals(10000, users.getEvictionConfig().getSize());
+        assertNotNull(users.getExpiryPolicyFactoryConfig());
+    }
+
+    @Test
+    public void loadedUserIsKeptInSecondLevelCache() {
+        final User user = userRepository.save(Generator.generateUser());
+        em.flush();
+        em.clear();
+        entityManagerFactory.getCache().evict(User.class);
+
+        userRepository.findById(user.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+    }
+}
@@ -0,0 +1,38 @@
+package freelanceplatform.config;
+
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.User;
+import freelanceplatform.utils.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs with {@code caching.hibernate.enabled} left unset, so the cache annotations of the entities are ignored.
+ */
+public class HibernateCacheDisabledTest extends IntegrationTestBase {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void loadedUserIsNotKeptInSecondLevelCache() {
+        final User user = userRepository.save(Generator.generateUser());
+        em.flush();
+        em.clear();
+
+        userRepository.findById(user.getId());
+
+        assertFalse(entityManagerFactory.getCache().contains(User.class, user.getId()));
+    }
+}
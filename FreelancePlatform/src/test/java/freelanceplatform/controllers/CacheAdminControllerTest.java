@@ -0,0 +1,97 @@
+package freelanceplatform.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import freelanceplatform.model.security.UserDetails;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CacheAdminControllerTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private User admin;
+    private User emptyUser;
+
+    @BeforeEach
+    public void setUp() {
+        admin = Generator.generateUser();
+        admin.setRole(Role.ADMIN);
+        userRepo.save(admin);
+        emptyUser = Generator.generateUser();
+        emptyUser.setRole(Role.USER);
+        userRepo.save(emptyUser);
+        cacheManager.getCache("tasks").clear();
+    }
+
+    @Test
+    public void getAllByAdminReturnsStatisticsOfEverySnapshotCache() throws Exception {
+        mockMvc.perform(get("/rest/admin/caches").with(user(new UserDetails(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].name").value("tasks"));
+    }
+
+    @Test
+    public void getAllByUserReturnsStatusForbidden() throws Exception {
+        mockMvc.perform(get("/rest/admin/caches").with(user(new UserDetails(emptyUser))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void getByUnknownNameReturnsStatusNotFound() throws Exception {
+        mockMvc.perform(get("/rest/admin/caches/unknown").with(user(new UserDetails(admin))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void warmPutsSnapshotsAndClearRemovesThem() throws Exception {
+        final Task task = Generator.generateTask();
+        userRepo.save(task.getCustomer());
+        taskRepo.save(task);
+
+        mockMvc.perform(post("/rest/admin/caches/tasks/warm")
+                        .with(user(new UserDetails(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task.getId(), -1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.puts").value(1));
+        assertInstanceOf(TaskSnapshot.class, cacheManager.getCache("tasks").get(task.getId()).get());
+
+        mockMvc.perform(delete("/rest/admin/caches/tasks").with(user(new UserDetails(admin))))
+                .andExpect(status().isNoContent());
+        assertNull(cacheManager.getCache("tasks").get(task.getId()));
+    }
+}
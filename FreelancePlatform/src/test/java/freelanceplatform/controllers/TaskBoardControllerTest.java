@@ -0,0 +1,137 @@
+package freelanceplatform.controllers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.User;
+import freelanceplatform.services.TaskService;
+import freelanceplatform.services.UserService;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs without the test transaction, the task board index only applies a change once it is committed.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskBoardControllerTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private User customer;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        customer = Generator.generateUser();
+        customer.setRole(Role.USER);
+        userService.save(customer);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tasks.forEach(task -> taskService.deleteById(task.getId()));
+        userService.deleteById(customer.getId());
+    }
+
+    private List<Task> post(int count, TaskStatus status) {
+        final List<Task> posted = IntStream.range(0, count).mapToObj(i -> {
+            final Task task = Generator.generateTask();
+            task.setStatus(status);
+            task.setCustomer(customer);
+            return task;
+        }).toList();
+        taskService.saveAll(posted);
+        tasks.addAll(posted);
+        return posted;
+    }
+
+    @Test
+    public void getAllTaskBoardReturnsTasksWithStatusUnassignedAndStatusOk() throws Exception {
+        final List<Task> taskBoardTasks = post(5, TaskStatus.UNASSIGNED);
+        post(5, TaskStatus.SUBMITTED);
+
+        final MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard")
+                        .param("fromNewest", "true")
+                        .param("type", ""))
+                .andExpect(status().isOk())
+                .andReturn();
+        final List<TaskReadUpdate> list = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertEquals(taskBoardTasks.stream().map(Task::getId).sorted().toList(),
+                list.stream().map(TaskReadUpdate::getId).sorted().toList());
+        list.forEach(taskReadUpdate -> assertEquals(TaskStatus.UNASSIGNED, taskReadUpdate.getStatus()));
+    }
+
+    @Test
+    public void getAllTaskBoardReturnsNextLinkWhileMoreTasksFollow() throws Exception {
+        post(3, TaskStatus.UNASSIGNED);
+
+        final MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard")
+                        .param("fromNewest", "true")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn();
+        final String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        final String next = Objects.requireNonNull(link).substring(1, link.indexOf('>'));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void getAllTaskBoardReturnsNotModifiedUntilBoardChanges() throws Exception {
+        final String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard").header(HttpHeaders.IF_NONE_MATCH, Objects.requireNonNull(eTag)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        post(1, TaskStatus.UNASSIGNED);
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+}
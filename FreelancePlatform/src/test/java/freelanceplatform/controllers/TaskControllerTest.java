@@ -16,21 +16,32 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -128,6 +139,28 @@ public class TaskControllerTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.id", equalTo(1)));
     }
 
+    @Test
+    public void getByIdReturnsNotModifiedWhileTaskIsUnchanged() throws Exception {
+        final Task task = Generator.generateTask();
+        task.setCustomer(emptyUser);
+        taskService.save(task);
+
+        final String eTag = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/" + task.getId()).header(HttpHeaders.IF_NONE_MATCH, Objects.requireNonNull(eTag)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        task.setTitle("changed title");
+        taskService.update(task);
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/" + task.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("changed title")));
+    }
+
     @Test
     public void getByIdReturnsNotFoundForUnknownId() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/-1"))
@@ -135,38 +168,165 @@ public class TaskControllerTest extends IntegrationTestBase {
     }
 
     @Test
-    public void getAllTaskBoardReturnsTasksWithStatusUnassignedAndStatusOk() throws Exception {
-        final List<Task> taskBoardTasks = IntStream.range(0, 5).mapToObj(i -> {
+    public void getAllTaskBoardFiltersByTypesAndPaymentAndSortsByPayment() throws Exception {
+        final TaskType[] types = {TaskType.DigitalMarketing, TaskType.SalesAndMarketing, TaskType.TutoringAndEducation};
+        final List<Task> tasks = IntStream.range(0, 6).mapToObj(i -> {
             final Task task = Generator.generateTask();
-            task.setStatus(TaskStatus.UNASSIGNED);
+            task.setType(types[i % types.length]);
+            task.setPayment(1_000_000.0 + 10 - i);
             task.setCustomer(emptyUser);
             return task;
         }).toList();
-        final List<Task> otherTasks = IntStream.range(0, 5).mapToObj(i -> {
+        taskService.saveAll(tasks);
+
+        final MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard")
+                        .param("type", TaskType.DigitalMarketing.name(), TaskType.SalesAndMarketing.name())
+                        .param("paymentMin", "1000006")
+                        .param("sort", "payment")
+                        .param("direction", "ASC")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(jsonPath("$[0].id", equalTo(tasks.get(4).getId())))
+                .andExpect(jsonPath("$[1].id", equalTo(tasks.get(3).getId())))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn();
+        final String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        final String next = Objects.requireNonNull(link).substring(1, link.indexOf('>'));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(jsonPath("$[0].id", equalTo(tasks.get(1).getId())))
+                .andExpect(jsonPath("$[1].id", equalTo(tasks.get(0).getId())))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void getAllTaskBoardWithUnknownSortKeyReturnsConflict() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard").param("sort", "title"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void getTaskBoardFacetsCountsOpenTasksOfEveryTypeAndStatus() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.types.length()", equalTo(TaskType.values().length)))
+                .andExpect(jsonPath("$.statuses.length()", equalTo(TaskStatus.values().length - 1)))
+                .andExpect(jsonPath("$.statuses.ACCEPTED").doesNotExist());
+    }
+
+    /**
+     * Runs without the test transaction, the stream is written on another thread and only sees committed rows.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllByAdminWritesOneJsonLinePerTask() throws Exception {
+        final List<Task> tasks = IntStream.range(0, 3).mapToObj(i -> {
             final Task task = Generator.generateTask();
-            task.setStatus(TaskStatus.SUBMITTED);
             task.setCustomer(emptyUser);
             return task;
         }).toList();
+        taskService.saveAll(tasks);
+        try {
+            final MvcResult started = mockMvc.perform(get("/rest/tasks/stream")
+                            .with(user(new UserDetails(userAdmin)))
+                            .accept("application/x-ndjson"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            final MvcResult result = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            final List<TaskReadUpdate> lines = result.getResponse().getContentAsString().lines()
+                    .map(line -> {
+                        try {
+                            return objectMapper.readValue(line, TaskReadUpdate.class);
+                        } catch (Exception e) {
+                            throw new AssertionError("Line is no task: " + line, e);
+                        }
+                    })
+                    .toList();
+            final Map<Integer, TaskReadUpdate> streamed = lines.stream()
+                    .collect(Collectors.toMap(TaskReadUpdate::getId, Function.identity()));
+            assertEquals(lines.size(), streamed.size(), "Every task is streamed once");
+            for (Task task : tasks) {
+                final TaskReadUpdate line = streamed.get(task.getId());
+                assertNotNull(line, "Task " + task.getId() + " is streamed");
+                assertEquals(task.getTitle(), line.getTitle());
+                assertEquals(task.getProblem(), line.getProblem());
+                assertEquals(task.getStatus(), line.getStatus());
+                assertEquals(emptyUser.getUsername(), line.getCustomerUsername());
+            }
+        } finally {
+            tasks.forEach(task -> taskService.deleteById(task.getId()));
+            userService.deleteById(userAdmin.getId());
+            userService.deleteById(emptyUser.getId());
+        }
+    }
+
+    @Test
+    public void streamAllByUserReturnsStatusForbidden() throws Exception {
+        mockMvc.perform(get("/rest/tasks/stream")
+                        .with(user(new UserDetails(emptyUser)))
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void searchReturnsMatchingTasksRankedByRelevance() throws Exception {
+        final Task inTitle = Generator.generateTask();
+        inTitle.setTitle("Bakery logo design");
+        inTitle.setCustomer(emptyUser);
+        final Task inProblem = Generator.generateTask();
+        inProblem.setProblem("Our bakery needs a new website");
+        inProblem.setCustomer(emptyUser);
+        final Task unrelated = Generator.generateTask();
+        unrelated.setCustomer(emptyUser);
+        taskService.saveAll(List.of(inTitle, inProblem, unrelated));
 
-        taskService.saveAll(taskBoardTasks);
-        taskService.saveAll(otherTasks);
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/search")
+                        .param("q", "bakeries")
+                        .param("type", TaskType.DigitalMarketing.name()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(jsonPath("$[0].id", equalTo(inTitle.getId())))
+                .andExpect(jsonPath("$[1].id", equalTo(inProblem.getId())))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void searchReturnsNextLinkWhileMoreTasksFollow() throws Exception {
+        final List<Task> tasks = IntStream.range(0, 3).mapToObj(i -> {
+            final Task task = Generator.generateTask();
+            task.setTitle("Translate manual " + i);
+            task.setCustomer(emptyUser);
+            return task;
+        }).toList();
+        taskService.saveAll(tasks);
 
-        final MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/taskBoard")
-                        .param("fromNewest", "true")
-                        .param("type", ""))
+        final MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/search")
+                        .param("q", "manual")
+                        .param("status", TaskStatus.UNASSIGNED.name())
+                        .param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(2)))
+                .andExpect(header().exists(HttpHeaders.LINK))
                 .andReturn();
-        String jsonContent = mvcResult.getResponse().getContentAsString();
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        final Iterable<TaskReadUpdate> result = objectMapper.readValue(jsonContent, new TypeReference<>() {
-        });
-        final List<TaskReadUpdate> list = StreamSupport.stream(result.spliterator(), false)
-                .toList();
+        final String link = firstPage.getResponse().getHeader(HttpHeaders.LINK);
+        final String next = Objects.requireNonNull(link).substring(1, link.indexOf('>'));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URI.create(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", equalTo(1)))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
 
-        assertEquals(list.size(), taskBoardTasks.size());
-        list.forEach(taskReadUpdate -> assertEquals(taskReadUpdate.getStatus(), TaskStatus.UNASSIGNED));
+    @Test
+    public void searchWithBlankQueryReturnsConflict() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/rest/tasks/search").param("q", " "))
+                .andExpect(status().isConflict());
     }
 
     @Test
@@ -0,0 +1,106 @@
+package freelanceplatform.data;
+
+import freelanceplatform.model.OutboxEvent;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that concurrent relays claim disjoint batches of the outbox. Runs without the test transaction, so the
+ * events are committed and every batch is locked by a transaction of its own. The relay is off, so it does not
+ * claim the events itself.
+ */
+@TestPropertySource(properties = "outbox.relay.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxEventRepositoryTest extends IntegrationTestBase {
+
+    private static final Pattern SKIP_LOCKED = Pattern.compile("for (no key )?update skip locked");
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> eventIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        IntStream.range(0, 4).forEach(i -> eventIds.add(
+                outboxRepo.save(new OutboxEvent("outbox_test", String.valueOf(i), new byte[]{1})).getId()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        outboxRepo.deleteAllById(eventIds);
+    }
+
+    @Test
+    public void findUnsentForUpdateSkipsLockedRows() {
+        statements.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxRepo.findUnsentForUpdate(PageRequest.ofSize(2)));
+
+        // PostgreSQL takes the weaker "for no key update" lock where the key is not changed
+        assertTrue(statements.stream().anyMatch(sql -> sql.contains("outbox_event") && SKIP_LOCKED.matcher(sql).find()),
+                () -> "No select on the outbox locks with skip locked: " + statements);
+    }
+
+    @Test
+    public void concurrentBatchesClaimDisjointEvents() {
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        final List<Integer> first = transaction.execute(status -> {
+            final List<Integer> claimed = ids(outboxRepo.findUnsentForUpdate(PageRequest.ofSize(2)));
+            // the second batch runs on another connection while this transaction still holds its row locks
+            final List<Integer> second = CompletableFuture.supplyAsync(() -> transaction.execute(other ->
+                    ids(outboxRepo.findUnsentForUpdate(PageRequest.ofSize(2))))).orTimeout(10, TimeUnit.SECONDS).join();
+            assertFalse(second.isEmpty());
+            assertTrue(Collections.disjoint(claimed, second), () -> claimed + " and " + second + " overlap");
+            return claimed;
+        });
+
+        assertFalse(first.isEmpty());
+    }
+
+    private static List<Integer> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
@@ -0,0 +1,168 @@
+package freelanceplatform.data;
+
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.TaskBoardSort;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import freelanceplatform.utils.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every query of {@link TaskRepository} is answered by the index created for it.
+ * The SQL Hibernate generates for a repository method is captured and explained as a generic plan, with sequential
+ * scans disabled for the transaction, and the plan has to name the expected index.
+ */
+public class TaskRepositoryIndexTest extends IntegrationTestBase {
+
+    private static final String BOARD = "idx_task_status_posted_date";
+    private static final String TYPED_BOARD = "idx_task_type_status_posted_date";
+    private static final String TAKEN = "idx_task_freelancer_expired_status";
+    private static final String POSTED = "idx_task_customer_expired_status";
+    private static final String PENDING_EXPIRY = "idx_task_pending_expiry";
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                statements.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private Integer customerId;
+    private Integer freelancerId;
+
+    @BeforeEach
+    public void seed() {
+        customerId = insertUser("index-customer");
+        freelancerId = insertUser("index-freelancer");
+        jdbcTemplate.update("""
+                INSERT INTO task (customer_id, freelancer_id, title, problem, deadline, status, type, payment, posted_date, expired)
+                SELECT ?, CASE WHEN i % 2 = 0 THEN ? END, 'title' || i, 'problem' || i,
+                       now() + (i - 500) * interval '1 hour',
+                       (ARRAY ['UNASSIGNED', 'ASSIGNED', 'SUBMITTED', 'ACCEPTED'])[i % 4 + 1],
+                       (ARRAY ['DigitalMarketing', 'SalesAndMarketing', 'TutoringAndEducation'])[i % 3 + 1],
+                       i, now() - i * interval '1 minute', i < 500
+                FROM generate_series(1, 1000) AS i
+                """, customerId, freelancerId);
+        jdbcTemplate.execute("ANALYZE task");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        // a cached result would spare the query this test needs to capture
+        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+    }
+
+    @Test
+    public void taskBoardQueriesUseIndex() {
+        assertUsesIndex(BOARD, () -> taskRepo.findAllByStatusFromNewest(TaskStatus.UNASSIGNED));
+        assertUsesIndex(BOARD, () -> taskRepo.findAllByStatusFromOldest(TaskStatus.UNASSIGNED));
+        assertUsesIndex(TYPED_BOARD, () -> taskRepo.findAllByTypeAndStatusFromNewest(TaskType.DigitalMarketing, TaskStatus.UNASSIGNED));
+        assertUsesIndex(TYPED_BOARD, () -> taskRepo.findAllByTypeAndStatusFromOldest(TaskType.DigitalMarketing, TaskStatus.UNASSIGNED));
+    }
+
+    @Test
+    public void taskBoardPageQueriesUseIndex() {
+        final TaskBoardFilter filter = new TaskBoardFilter(Set.of(), null, null, null, null, TaskBoardSort.POSTED_DATE, true);
+        final TaskBoardCursor cursor = new TaskBoardCursor(TaskBoardSort.POSTED_DATE, LocalDateTime.now(), 500);
+
+        assertUsesIndex(BOARD, () -> taskRepo.findBoardPage(filter, null, 21));
+        assertUsesIndex(BOARD, () -> taskRepo.findBoardPage(filter, cursor, 21));
+        assertUsesIndex(BOARD, () -> taskRepo.findBoardPageFromOldest(TaskStatus.UNASSIGNED, PageRequest.ofSize(21)));
+        assertUsesIndex(BOARD, () -> taskRepo.findBoardPageFromOldestAfter(TaskStatus.UNASSIGNED,
+                LocalDateTime.now().minusDays(1), 500, PageRequest.ofSize(21)));
+    }
+
+    @Test
+    public void takenTaskQueriesUseIndex() {
+        assertUsesIndex(TAKEN, () -> taskRepo.findAllTakenByFreelancerIdDeadlineNotExpired(freelancerId));
+        assertUsesIndex(TAKEN, () -> taskRepo.findAllTakenByFreelancerIdDeadlineExpired(freelancerId));
+        assertUsesIndex(TAKEN, () -> taskRepo.findAllTakenByFreelancerIdAndStatusDeadlineNotExpired(freelancerId, TaskStatus.ASSIGNED));
+        assertUsesIndex(TAKEN, () -> taskRepo.findAllTakenByFreelancerIdAndStatusDeadlineExpired(freelancerId, TaskStatus.ASSIGNED));
+    }
+
+    @Test
+    public void pendingExpiryQueryUsesIndex() {
+        assertUsesIndex(PENDING_EXPIRY, () -> taskRepo.findDeadlinesBefore(LocalDateTime.now().plusMinutes(10)));
+    }
+
+    @Test
+    public void postedTaskQueriesUseIndex() {
+        assertUsesIndex(POSTED, () -> taskRepo.findAllPostedByCustomerIdDeadlineNotExpired(customerId));
+        assertUsesIndex(POSTED, () -> taskRepo.findAllPostedByCustomerIdDeadlineExpired(customerId));
+        assertUsesIndex(POSTED, () -> taskRepo.findAllPostedByCustomerIdAndStatusDeadlineNotExpired(customerId, TaskStatus.SUBMITTED));
+        assertUsesIndex(POSTED, () -> taskRepo.findAllPostedByCustomerIdAndStatusDeadlineExpired(customerId, TaskStatus.SUBMITTED));
+    }
+
+    private Integer insertUser(String username) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (username, first_name, last_name, email, password, rating, role)
+                VALUES (?, 'first', 'last', ?, 'password', 0, 'USER')
+                RETURNING id
+                """, Integer.class, username, username + "@example.com");
+    }
+
+    /**
+     * Runs a repository query, then explains the SQL it was translated to and asserts that the plan uses the index.
+     */
+    private void assertUsesIndex(String index, Runnable query) {
+        statements.clear();
+        query.run();
+        final String sql = statements.stream()
+                .filter(statement -> statement.startsWith("select") && statement.contains(" task "))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("The query issued no select on task: " + statements));
+        final List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class);
+        final String explained = sql + "\n" + String.join("\n", plan);
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan on task")),
+                () -> "Query falls back to a sequential scan: " + explained);
+        assertTrue(plan.stream().anyMatch(line -> line.contains(index)),
+                () -> "Query does not use " + index + ": " + explained);
+    }
+
+    /**
+     * Replaces the JDBC placeholders by numbered parameters, which a generic plan is explained with.
+     */
+    private static String numberParameters(String sql) {
+        final StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') numbered.append('$').append(++parameter);
+            else numbered.append(c);
+        }
+        return numbered.toString();
+    }
+}
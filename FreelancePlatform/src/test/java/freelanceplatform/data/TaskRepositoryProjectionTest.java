@@ -0,0 +1,99 @@
+package freelanceplatform.data;
+
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.User;
+import freelanceplatform.services.TaskService;
+import freelanceplatform.utils.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that every task listing is answered by a single statement and loads no entities.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TaskRepositoryProjectionTest extends IntegrationTestBase {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User customer;
+    private User freelancer;
+
+    @BeforeEach
+    public void seed() {
+        customer = Generator.generateUser();
+        customer.setRole(Role.USER);
+        freelancer = Generator.generateUser();
+        freelancer.setRole(Role.USER);
+        userRepo.save(customer);
+        userRepo.save(freelancer);
+        IntStream.range(0, 10).forEach(i -> {
+            final Task task = Generator.generateTask();
+            task.setCustomer(customer);
+            if (i % 2 == 0) {
+                task.setFreelancer(freelancer);
+                task.setStatus(TaskStatus.ASSIGNED);
+            }
+            if (i % 3 == 0) task.setDeadline(LocalDateTime.now().minusDays(1));
+            taskRepo.save(task);
+        });
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void taskBoardListingRunsOneStatement() {
+        assertSingleStatement(() -> taskRepo.findBoardPageFromOldest(TaskStatus.UNASSIGNED, PageRequest.ofSize(500)));
+        assertSingleStatement(() -> taskService.findAllTaskBoardByPostedDate(true));
+    }
+
+    @Test
+    public void takenListingRunsOneStatement() {
+        assertSingleStatement(() -> taskService.findAllTakenByUserIdAndDeadlineStatus(freelancer.getId(), false));
+        assertSingleStatement(() -> taskService.findAllTakenByUserIdAndStatusAndDeadlineStatus(freelancer.getId(), TaskStatus.ASSIGNED, true));
+    }
+
+    @Test
+    public void postedListingRunsOneStatement() {
+        assertSingleStatement(() -> taskService.findAllPostedByUserIdAndExpiredStatus(customer.getId(), false));
+        assertSingleStatement(() -> taskService.findAllPostedByUserIdAndStatusAndExpiredStatus(customer.getId(), TaskStatus.UNASSIGNED, true));
+    }
+
+    private void assertSingleStatement(Supplier<? extends List<?>> listing) {
+        final Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertFalse(listing.get().isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,83 @@
+package freelanceplatform.kafka;
+
+import freelanceplatform.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventCoalescerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private final EventCoalescer coalescer = new EventCoalescer(true, Duration.ofSeconds(2), List.of("user_updated"));
+
+    private static OutboxEvent event(int id, String topic, String key, int secondsAgo) {
+        final OutboxEvent event = new OutboxEvent(topic, key, new byte[]{1, (byte) id});
+        event.setId(id);
+        event.setCreatedAt(NOW.minusSeconds(secondsAgo));
+        return event;
+    }
+
+    @Test
+    public void changesOutsideTheWindowCollapseIntoTheLatest() {
+        final OutboxEvent first = event(1, "user_updated", "7", 5);
+        final OutboxEvent second = event(2, "user_updated", "7", 4);
+        final OutboxEvent third = event(3, "user_updated", "7", 1);
+
+        final EventCoalescer.Plan plan = coalescer.plan(List.of(first, second, third), NOW);
+
+        assertEquals(List.of(third), plan.publish());
+        assertEquals(List.of(first, second), plan.dropped());
+    }
+
+    @Test
+    public void changesInsideTheWindowAreHeldWithTheLaterEventsOfTheirKey() {
+        final OutboxEvent updated = event(1, "user_updated", "7", 1);
+        final OutboxEvent deleted = event(2, "user_deleted", "7", 0);
+        final OutboxEvent other = event(3, "user_created", "8", 0);
+
+        final EventCoalescer.Plan plan = coalescer.plan(List.of(updated, deleted, other), NOW);
+
+        assertEquals(List.of(other), plan.publish());
+        assertEquals(List.of(), plan.dropped());
+    }
+
+    @Test
+    public void heldUserDoesNotHoldTaskOfSameId() {
+        final OutboxEvent updated = event(1, "user_updated", "5", 1);
+        final OutboxEvent posted = event(2, "task_posted", "5", 0);
+        final OutboxEvent assigned = event(3, "freelancer_assigned", "5", 0);
+        final OutboxEvent deleted = event(4, "user_deleted", "5", 0);
+
+        final EventCoalescer.Plan plan = coalescer.plan(List.of(updated, posted, assigned, deleted), NOW);
+
+        assertEquals(List.of(posted, assigned), plan.publish());
+        assertEquals(List.of(), plan.dropped());
+    }
+
+    @Test
+    public void lifecycleEventsAreNeverCoalesced() {
+        final OutboxEvent posted = event(1, "task_posted", "3", 0);
+        final OutboxEvent assigned = event(2, "freelancer_assigned", "3", 0);
+
+        final EventCoalescer.Plan plan = coalescer.plan(List.of(posted, assigned), NOW);
+
+        assertEquals(List.of(posted, assigned), plan.publish());
+        assertEquals(List.of(), plan.dropped());
+    }
+
+    @Test
+    public void disabledCoalescerPublishesEveryEvent() {
+        final EventCoalescer disabled = new EventCoalescer(false, Duration.ofSeconds(2), List.of("user_updated"));
+        final List<OutboxEvent> events = List.of(event(1, "user_updated", "7", 0), event(2, "user_updated", "7", 0));
+
+        final EventCoalescer.Plan plan = disabled.plan(events, NOW);
+
+        assertEquals(events, plan.publish());
+        assertEquals(List.of(), plan.dropped());
+    }
+}
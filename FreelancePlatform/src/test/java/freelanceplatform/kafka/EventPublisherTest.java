@@ -0,0 +1,67 @@
+package freelanceplatform.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EventPublisherTest {
+
+    private static final byte[] PAYLOAD = {1};
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new EventPublisher(kafkaTemplate, meterRegistry, 1, Duration.ofMillis(10), 0);
+    }
+
+    @Test
+    public void completedSendFreesItsSlotAndIsTimed() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.publish("task_posted", "1", PAYLOAD).join();
+        publisher.publish("task_posted", "1", PAYLOAD).join();
+
+        assertEquals(2, meterRegistry.get("kafka.send").tag("topic", "task_posted").timer().count());
+        assertEquals(0, meterRegistry.get("kafka.send.in.flight").gauge().value());
+    }
+
+    @Test
+    public void sendWithoutFreeSlotFailsFast() {
+        final CompletableFuture<SendResult<String, byte[]>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(pending);
+
+        publisher.publish("task_posted", "1", PAYLOAD);
+        final CompletableFuture<SendResult<String, byte[]>> rejected = publisher.publish("task_posted", "1", PAYLOAD);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, meterRegistry.get("kafka.send.errors").tag("topic", "task_posted").counter().count());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(byte[].class));
+    }
+
+    @Test
+    public void failedSendIsCounted() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThrows(Exception.class, () -> publisher.publish("user_created", "1", PAYLOAD).join());
+
+        assertEquals(1, meterRegistry.get("kafka.send.errors").tag("topic", "user_created").counter().count());
+        assertEquals(0, meterRegistry.get("kafka.send.in.flight").gauge().value());
+    }
+}
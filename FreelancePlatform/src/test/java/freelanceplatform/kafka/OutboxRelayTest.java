@@ -0,0 +1,124 @@
+package freelanceplatform.kafka;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import freelanceplatform.data.OutboxEventRepository;
+import freelanceplatform.model.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private EventPublisher eventPublisher;
+    private IMap<String, Boolean> lock;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        eventPublisher = mock(EventPublisher.class);
+        lock = mock(IMap.class);
+        final HazelcastInstance hazelcast = mock(HazelcastInstance.class);
+        when(hazelcast.<String, Boolean>getMap(OutboxRelay.LOCK_MAP)).thenReturn(lock);
+        relay = new OutboxRelay(outboxEventRepository, eventPublisher,
+                new EventCoalescer(false, Duration.ZERO, List.of()), hazelcast,
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, 100, Duration.ofSeconds(1), Duration.ofDays(1));
+    }
+
+    private static OutboxEvent event(int id, String topic) {
+        final OutboxEvent event = new OutboxEvent(topic, String.valueOf(id), new byte[]{1, (byte) id});
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    public void relayWithoutLockDoesNotPoll() {
+        when(lock.tryLock(OutboxRelay.LOCK_MAP)).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(outboxEventRepository);
+        verify(lock, never()).unlock(anyString());
+    }
+
+    @Test
+    public void relayReleasesLockWhenBatchFails() {
+        when(lock.tryLock(OutboxRelay.LOCK_MAP)).thenReturn(true);
+        when(outboxEventRepository.findUnsentForUpdate(any(Pageable.class))).thenThrow(new IllegalStateException("database down"));
+
+        relay.relay();
+
+        verify(outboxEventRepository).findUnsentForUpdate(any(Pageable.class));
+        verify(lock).unlock(OutboxRelay.LOCK_MAP);
+    }
+
+    @Test
+    public void relayBatchSendsEveryEventAndMarksThemSent() {
+        when(outboxEventRepository.findUnsentForUpdate(any(Pageable.class)))
+                .thenReturn(List.of(event(1, "task_posted"), event(2, "user_created")));
+        when(eventPublisher.publish(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(eventPublisher).publish("task_posted", "1", new byte[]{1, 1});
+        verify(eventPublisher).publish("user_created", "2", new byte[]{1, 2});
+        verify(outboxEventRepository).markSent(eq(List.of(1, 2)), any());
+    }
+
+    @Test
+    public void relayBatchMarksCoalescedEventsSentWithoutPublishingThem() {
+        final OutboxRelay coalescing = new OutboxRelay(outboxEventRepository, eventPublisher,
+                new EventCoalescer(true, Duration.ZERO, List.of("user_updated")), mock(HazelcastInstance.class),
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, 100, Duration.ofSeconds(1), Duration.ofDays(1));
+        final OutboxEvent first = new OutboxEvent("user_updated", "7", new byte[]{1, 1});
+        first.setId(1);
+        final OutboxEvent second = new OutboxEvent("user_updated", "7", new byte[]{1, 2});
+        second.setId(2);
+        when(outboxEventRepository.findUnsentForUpdate(any(Pageable.class))).thenReturn(List.of(first, second));
+        when(eventPublisher.publish(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, coalescing.relayBatch());
+
+        verify(eventPublisher).publish("user_updated", "7", new byte[]{1, 2});
+        verifyNoMoreInteractions(eventPublisher);
+        verify(outboxEventRepository).markSent(eq(List.of(2, 1)), any());
+    }
+
+    @Test
+    public void failedSendLeavesBatchUnsent() {
+        when(outboxEventRepository.findUnsentForUpdate(any(Pageable.class))).thenReturn(List.of(event(1, "task_posted")));
+        when(eventPublisher.publish(anyString(), anyString(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThrows(IllegalStateException.class, relay::relayBatch);
+
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    public void emptyOutboxSendsNothing() {
+        when(outboxEventRepository.findUnsentForUpdate(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
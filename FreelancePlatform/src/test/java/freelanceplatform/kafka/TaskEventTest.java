@@ -0,0 +1,82 @@
+package freelanceplatform.kafka;
+
+import freelanceplatform.environment.Generator;
+import freelanceplatform.kafka.events.Contact;
+import freelanceplatform.kafka.events.TaskEvent;
+import freelanceplatform.kafka.events.UserEvent;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskEventTest {
+
+    @Test
+    public void taskEventCarriesContactsButNoCredentials() {
+        final Task task = Generator.generateTask();
+        final User freelancer = Generator.generateUser();
+        task.setFreelancer(freelancer);
+
+        final byte[] payload = TaskEvent.of(task).encode();
+        final TaskEvent event = TaskEvent.decode(payload);
+
+        assertEquals(TaskEvent.VERSION, payload[0]);
+        assertEquals(task.getTitle(), event.title());
+        assertEquals(task.getStatus(), event.status());
+        assertEquals(task.getCustomer().getEmail(), event.customer().email());
+        assertEquals(freelancer.getUsername(), event.freelancer().username());
+        assertFalse(new String(payload, StandardCharsets.UTF_8).contains(task.getCustomer().getPassword()));
+    }
+
+    @Test
+    public void taskEventWithoutFreelancerHasNullFreelancer() {
+        assertNull(TaskEvent.decode(TaskEvent.of(Generator.generateTask()).encode()).freelancer());
+    }
+
+    @Test
+    public void taskEventRoundTripsEveryField() {
+        final TaskEvent event = new TaskEvent(TaskEvent.VERSION, 7, "Záložka", null,
+                LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000), new Contact(1, "alice", null), null);
+
+        assertEquals(event, TaskEvent.decode(event.encode()));
+    }
+
+    @Test
+    public void decodingIgnoresFieldsAppendedByNewerVersions() {
+        final TaskEvent event = TaskEvent.of(Generator.generateTask());
+        final byte[] payload = event.encode();
+        final byte[] newer = Arrays.copyOf(payload, payload.length + 4);
+        newer[0] = TaskEvent.VERSION + 1;
+
+        final TaskEvent decoded = TaskEvent.decode(newer);
+
+        assertEquals(TaskEvent.VERSION + 1, decoded.version());
+        assertEquals(event.title(), decoded.title());
+    }
+
+    @Test
+    public void truncatedPayloadIsRejected() {
+        final byte[] payload = TaskEvent.of(Generator.generateTask()).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> TaskEvent.decode(Arrays.copyOf(payload, 3)));
+    }
+
+    @Test
+    public void userEventCarriesOnlyContactFields() {
+        final User user = Generator.generateUser();
+
+        final byte[] payload = UserEvent.of(user).encode();
+        final UserEvent event = UserEvent.decode(payload);
+
+        assertEquals(UserEvent.VERSION, payload[0]);
+        assertEquals(user.getId(), event.id());
+        assertEquals(user.getUsername(), event.username());
+        assertEquals(user.getEmail(), event.email());
+        assertFalse(new String(payload, StandardCharsets.UTF_8).contains(user.getPassword()));
+    }
+}
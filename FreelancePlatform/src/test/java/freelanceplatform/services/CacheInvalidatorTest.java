@@ -0,0 +1,104 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without the test transaction, dependents are only evicted once a change is committed.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CacheInvalidatorTest extends IntegrationTestBase {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        task = Generator.generateTask();
+        userRepo.save(task.getCustomer());
+        taskRepo.save(task);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskRepo.deleteById(task.getId());
+        userRepo.deleteById(task.getCustomer().getId());
+        cacheManager.getCache("tasks").clear();
+        cacheManager.getCache("users").clear();
+    }
+
+    @Test
+    public void committedTaskChangeEvictsOnlyTask() {
+        cacheManager.getCache("tasks").put(task.getId(), "stale task");
+        cacheManager.getCache("users").put(task.getCustomer().getId(), "customer");
+
+        task.setTitle("changed");
+        taskRepo.save(task);
+
+        assertNull(cacheManager.getCache("tasks").get(task.getId()));
+        assertNotNull(cacheManager.getCache("users").get(task.getCustomer().getId()));
+    }
+
+    @Test
+    public void committedUserChangeEvictsTasksOfUser() {
+        final User customer = task.getCustomer();
+        cacheManager.getCache("tasks").put(task.getId(), "stale task");
+
+        customer.setFirstName("changed");
+        userRepo.save(customer);
+
+        assertNull(cacheManager.getCache("tasks").get(task.getId()));
+    }
+
+    @Test
+    public void committedExpiryEvictsSnapshotCachedBeforeCommit() {
+        task.setDeadline(LocalDateTime.now().minusMinutes(1));
+        taskRepo.save(task);
+        final TaskSnapshot open = snapshotService.findTask(task.getId()).orElseThrow();
+        assertFalse(open.expired());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.expire(List.of(task.getId()));
+            // a concurrent reader still sees the task open until the commit and caches it again
+            cacheManager.getCache("tasks").put(task.getId(), open);
+        });
+
+        assertTrue(snapshotService.findTask(task.getId()).orElseThrow().expired());
+    }
+}
@@ -0,0 +1,75 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
+import freelanceplatform.dto.snapshot.UserSnapshot;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without the test transaction, the warm-up loads its batches on other threads and only sees committed rows.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CacheWarmerTest extends IntegrationTestBase {
+
+    @Autowired
+    private CacheWarmer cacheWarmer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private Task task;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache("tasks").clear();
+        cacheManager.getCache("users").clear();
+        task = Generator.generateTask();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (task.getId() != null) taskRepo.deleteById(task.getId());
+        if (task.getCustomer().getId() != null) userRepo.deleteById(task.getCustomer().getId());
+    }
+
+    @Test
+    public void warmUpLoadsOpenTasksAndTheirCustomers() {
+        userRepo.save(task.getCustomer());
+        taskRepo.save(task);
+
+        assertTrue(cacheWarmer.warmUp() >= 2);
+
+        assertInstanceOf(TaskSnapshot.class, cacheManager.getCache("tasks").get(task.getId()).get());
+        assertInstanceOf(UserSnapshot.class, cacheManager.getCache("users").get(task.getCustomer().getId()).get());
+    }
+
+    @Test
+    public void warmUpSkipsAssignedTasks() {
+        task.setStatus(TaskStatus.ASSIGNED);
+        userRepo.save(task.getCustomer());
+        taskRepo.save(task);
+
+        cacheWarmer.warmUp();
+
+        assertNull(cacheManager.getCache("tasks").get(task.getId()));
+    }
+}
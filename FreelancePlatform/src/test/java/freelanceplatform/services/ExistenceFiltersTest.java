@@ -0,0 +1,149 @@
+package freelanceplatform.services;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import freelanceplatform.data.SolutionRepository;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.UserKeys;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ExistenceFiltersTest {
+
+    private TaskRepository taskRepo;
+    private UserRepository userRepo;
+    private SolutionRepository solutionRepo;
+    private HazelcastInstance hazelcast;
+    private ITopic<ExistenceFilters.Addition> topic;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        taskRepo = mock(TaskRepository.class);
+        userRepo = mock(UserRepository.class);
+        solutionRepo = mock(SolutionRepository.class);
+        hazelcast = mock(HazelcastInstance.class);
+        topic = mock(ITopic.class);
+        doReturn(topic).when(hazelcast).getTopic(ExistenceFilters.ADDITION_TOPIC);
+        when(taskRepo.streamIds()).thenAnswer(invocation -> Stream.of(1, 2));
+        when(userRepo.streamKeys()).thenAnswer(invocation -> Stream.of(new UserKeys(10, "alice", "alice@example.com")));
+        when(solutionRepo.streamIds()).thenAnswer(invocation -> Stream.empty());
+    }
+
+    private ExistenceFilters filters(Duration replayWindow) {
+        return new ExistenceFilters(taskRepo, userRepo, solutionRepo, hazelcast, 1000, 0.01, replayWindow);
+    }
+
+    @Test
+    public void everyKeyMightExistUntilFirstRebuild() {
+        final ExistenceFilters filters = filters(Duration.ofMinutes(1));
+
+        assertTrue(filters.mightExistTask(99));
+        assertTrue(filters.mightExistUsername("nobody"));
+    }
+
+    @Test
+    public void rebuildLoadsKeysFromDatabase() {
+        final ExistenceFilters filters = filters(Duration.ofMinutes(1));
+
+        filters.rebuild();
+
+        assertTrue(filters.mightExistTask(1));
+        assertTrue(filters.mightExistTask(2));
+        assertFalse(filters.mightExistTask(99));
+        assertTrue(filters.mightExistUser(10));
+        assertTrue(filters.mightExistUsername("alice"));
+        assertTrue(filters.mightExistEmail("alice@example.com"));
+        assertFalse(filters.mightExistUsername("bob"));
+        assertFalse(filters.mightExistSolution(1));
+    }
+
+    @Test
+    public void keyAddedWithinReplayWindowSurvivesRebuild() {
+        final ExistenceFilters filters = filters(Duration.ofMinutes(1));
+        filters.rebuild();
+
+        // committed after the database was read by the rebuild
+        filters.added(task(42));
+        filters.rebuild();
+
+        assertTrue(filters.mightExistTask(42));
+    }
+
+    @Test
+    public void keyAddedBeforeReplayWindowIsForgottenByRebuild() {
+        final ExistenceFilters filters = filters(Duration.ZERO);
+        filters.rebuild();
+
+        filters.added(task(42));
+        filters.rebuild();
+
+        assertFalse(filters.mightExistTask(42));
+    }
+
+    @Test
+    public void addedKeysArePublishedToOtherNodes() {
+        final ExistenceFilters filters = filters(Duration.ofMinutes(1));
+        final User user = new User();
+        user.setId(11);
+        user.setUsername("bob");
+        user.setEmail("bob@example.com");
+
+        filters.added(user);
+
+        verify(topic).publish(new ExistenceFilters.Addition("users", 11));
+        verify(topic).publish(new ExistenceFilters.Addition("usernames", "bob"));
+        verify(topic).publish(new ExistenceFilters.Addition("emails", "bob@example.com"));
+    }
+
+    @Test
+    public void keysAddedOnOtherNodesAreAdded() {
+        final ExistenceFilters filters = filters(Duration.ofMinutes(1));
+        final MessageListener<ExistenceFilters.Addition> listener = listener();
+        filters.rebuild();
+
+        listener.onMessage(message(new ExistenceFilters.Addition("usernames", "bob"), false));
+        listener.onMessage(message(new ExistenceFilters.Addition("tasks", 77), true));
+
+        assertTrue(filters.mightExistUsername("bob"));
+        // an addition of this node was added when it was published already
+        assertFalse(filters.mightExistTask(77));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageListener<ExistenceFilters.Addition> listener() {
+        final ArgumentCaptor<MessageListener<ExistenceFilters.Addition>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addMessageListener(listener.capture());
+        return listener.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<ExistenceFilters.Addition> message(ExistenceFilters.Addition addition, boolean local) {
+        final Member member = mock(Member.class);
+        when(member.localMember()).thenReturn(local);
+        final Message<ExistenceFilters.Addition> message = mock(Message.class);
+        when(message.getPublishingMember()).thenReturn(member);
+        when(message.getMessageObject()).thenReturn(addition);
+        return message;
+    }
+
+    private static Task task(int id) {
+        final Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+}
@@ -1,4 +1,5 @@
 package freelanceplatform.services;
+import freelanceplatform.dto.snapshot.FeedbackSnapshot;
 import freelanceplatform.model.Feedback;
 import freelanceplatform.utils.CacheableTestBase;
 import org.assertj.core.api.Assertions;
@@ -15,10 +16,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class FeedbackServiceTest extends CacheableTestBase {
 
     private final FeedbackService feedbackService;
+    private final SnapshotService snapshotService;
 
     @Autowired
-    public FeedbackServiceTest(FeedbackService feedbackService, CacheManager cacheManager) {
+    public FeedbackServiceTest(FeedbackService feedbackService, SnapshotService snapshotService, CacheManager cacheManager) {
         this.feedbackService = feedbackService;
+        this.snapshotService = snapshotService;
         this.cacheManager = cacheManager;
     }
 
@@ -39,7 +42,10 @@ class FeedbackServiceTest extends CacheableTestBase {
         Feedback feedbackById = feedbackService.findById(id).orElseThrow(IllegalArgumentException::new);
         Assertions.assertThat(feedbackById.getSender().getEmail()).isEqualTo("user5@example.com");
 
-        assertTrue(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
+        assertFalse(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
+        FeedbackSnapshot snapshot = snapshotService.findFeedback(id).orElseThrow(IllegalArgumentException::new);
+        assertEquals(feedbackById.getSender().getId(), snapshot.senderId());
+        assertEquals(snapshot, cacheManager.getCache(cacheName).get(id).get());
     }
 
     @Test
@@ -55,6 +61,7 @@ class FeedbackServiceTest extends CacheableTestBase {
     @Test
     void updateTest() {
         int id = 1;
+        snapshotService.findFeedback(id);
         Feedback feedback = feedbackService.findById(id).get();
 
         String comment = "test233";
@@ -63,7 +70,8 @@ class FeedbackServiceTest extends CacheableTestBase {
         feedbackService.update(feedback);
         assertEquals(feedbackService.findById(id).get().getComment(), comment);
 
-        assertTrue(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
+        assertFalse(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
+        assertEquals(comment, snapshotService.findFeedback(id).map(FeedbackSnapshot::comment).orElseThrow());
     }
 
     @Test
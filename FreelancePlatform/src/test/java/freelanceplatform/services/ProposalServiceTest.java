@@ -3,6 +3,7 @@ package freelanceplatform.services;
 import freelanceplatform.data.ProposalRepository;
 import freelanceplatform.data.TaskRepository;
 import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.snapshot.ProposalSnapshot;
 import freelanceplatform.model.Proposal;
 import freelanceplatform.model.Task;
 import freelanceplatform.model.User;
@@ -21,13 +22,15 @@ public class ProposalServiceTest extends CacheableTestBase {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final ProposalService proposalService;
+    private final SnapshotService snapshotService;
 
     @Autowired
-    public ProposalServiceTest(ProposalRepository proposalRepository, UserRepository userRepository, TaskRepository taskRepository, ProposalService proposalService) {
+    public ProposalServiceTest(ProposalRepository proposalRepository, UserRepository userRepository, TaskRepository taskRepository, ProposalService proposalService, SnapshotService snapshotService) {
         this.proposalRepository = proposalRepository;
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
         this.proposalService = proposalService;
+        this.snapshotService = snapshotService;
     }
 
     @Override
@@ -54,7 +57,9 @@ public class ProposalServiceTest extends CacheableTestBase {
         assertTrue(foundProposal.isPresent());
         assertEquals(savedProposal.getId(), foundProposal.get().getId());
 
-        assertTrue(Optional.ofNullable(cacheManager.getCache(cacheName).get(savedProposal.getId())).isPresent());
+        assertFalse(Optional.ofNullable(cacheManager.getCache(cacheName).get(savedProposal.getId())).isPresent());
+        snapshotService.findProposal(savedProposal.getId());
+        assertInstanceOf(ProposalSnapshot.class, cacheManager.getCache(cacheName).get(savedProposal.getId()).get());
     }
 
     @Test
@@ -66,6 +71,8 @@ public class ProposalServiceTest extends CacheableTestBase {
         assertTrue(foundProposal.isPresent());
         assertEquals(id, foundProposal.get().getId());
 
+        assertFalse(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
+        assertEquals(id, snapshotService.findProposal(id).map(ProposalSnapshot::id).orElseThrow());
         assertTrue(Optional.ofNullable(cacheManager.getCache(cacheName).get(id)).isPresent());
     }
 
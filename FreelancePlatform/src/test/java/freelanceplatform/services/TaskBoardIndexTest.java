@@ -0,0 +1,198 @@
+package freelanceplatform.services;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.dto.Mapper;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TaskBoardIndexTest {
+
+    private TaskBoardIndex index;
+    private Mapper mapper;
+    private HazelcastInstance hazelcast;
+    private ITopic<TaskBoardIndex.Change> topic;
+    private Task task;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        task = Generator.generateTask();
+        task.setId(1);
+        task.setPostedDate(LocalDateTime.now());
+        mapper = mock(Mapper.class);
+        when(mapper.toTaskReadUpdate(any(Task.class))).thenAnswer(invocation -> readUpdate(invocation.getArgument(0)));
+        hazelcast = mock(HazelcastInstance.class);
+        topic = mock(ITopic.class);
+        doReturn(topic).when(hazelcast).getTopic(TaskBoardIndex.CHANGE_TOPIC);
+        index = new TaskBoardIndex(mock(TaskRepository.class), mapper, hazelcast, new SimpleMeterRegistry());
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    public void changeIsAppliedOnlyAfterCommit() {
+        index.apply(task);
+
+        assertEquals(0, index.size());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void changeIsDroppedOnRollback() {
+        index.apply(task);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void changeOutsideTransactionIsAppliedRightAway() {
+        TransactionSynchronizationManager.clear();
+
+        index.apply(task);
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void expiredTaskIsTakenOffBoard() {
+        TransactionSynchronizationManager.clear();
+        index.apply(task);
+
+        task.setExpired(true);
+        index.apply(task);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void versionChangesWithBoardContentOnly() {
+        TransactionSynchronizationManager.clear();
+        final String empty = index.version();
+
+        index.apply(task);
+        final String posted = index.version();
+        assertNotEquals(empty, posted);
+        index.apply(task);
+        assertEquals(posted, index.version());
+
+        index.remove(task.getId());
+        assertEquals(empty, index.version());
+    }
+
+    @Test
+    public void rebuiltBoardHasVersionOfBoardItWasBuiltFrom() {
+        TransactionSynchronizationManager.clear();
+        index.apply(task);
+
+        final TaskReadUpdate stored = readUpdate(task);
+        stored.setPostedDate(task.getPostedDate().truncatedTo(ChronoUnit.MICROS));
+        final TaskRepository taskRepo = mock(TaskRepository.class);
+        when(taskRepo.findBoardPageFromOldest(eq(TaskStatus.UNASSIGNED), any(Pageable.class))).thenReturn(List.of(stored));
+        final TaskBoardIndex otherNode = new TaskBoardIndex(taskRepo, mapper, hazelcast, new SimpleMeterRegistry());
+        otherNode.rebuild();
+
+        assertEquals(1, otherNode.size());
+        assertEquals(index.version(), otherNode.version());
+    }
+
+    @Test
+    public void changeIsPublishedOnlyAfterCommit() {
+        index.apply(task);
+
+        verify(topic, never()).publish(any());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(topic).publish(any(TaskBoardIndex.Change.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void changesPublishedByOtherNodesAreApplied() {
+        TransactionSynchronizationManager.clear();
+        final TaskBoardIndex otherNode = new TaskBoardIndex(mock(TaskRepository.class), mapper, hazelcast, new SimpleMeterRegistry());
+        final ArgumentCaptor<MessageListener<TaskBoardIndex.Change>> listeners = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic, times(2)).addMessageListener(listeners.capture());
+        final MessageListener<TaskBoardIndex.Change> otherNodeListener = listeners.getAllValues().get(1);
+
+        index.apply(task);
+        final ArgumentCaptor<TaskBoardIndex.Change> change = ArgumentCaptor.forClass(TaskBoardIndex.Change.class);
+        verify(topic).publish(change.capture());
+        otherNodeListener.onMessage(message(change.getValue(), false));
+
+        assertEquals(1, otherNode.size());
+        assertEquals(index.version(), otherNode.version());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void changesPublishedByThisNodeAreNotAppliedTwice() {
+        TransactionSynchronizationManager.clear();
+        final ArgumentCaptor<MessageListener<TaskBoardIndex.Change>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addMessageListener(listener.capture());
+        index.apply(task);
+        final ArgumentCaptor<TaskBoardIndex.Change> change = ArgumentCaptor.forClass(TaskBoardIndex.Change.class);
+        verify(topic).publish(change.capture());
+        index.remove(task.getId());
+
+        // a late delivery of the own change must not put the removed task back
+        listener.getValue().onMessage(message(change.getValue(), true));
+
+        assertEquals(0, index.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<TaskBoardIndex.Change> message(TaskBoardIndex.Change change, boolean local) {
+        final Member member = mock(Member.class);
+        when(member.localMember()).thenReturn(local);
+        final Message<TaskBoardIndex.Change> message = mock(Message.class);
+        when(message.getPublishingMember()).thenReturn(member);
+        when(message.getMessageObject()).thenReturn(change);
+        return message;
+    }
+
+    private static TaskReadUpdate readUpdate(Task task) {
+        return TaskReadUpdate.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .type(task.getType())
+                .status(TaskStatus.UNASSIGNED)
+                .postedDate(task.getPostedDate())
+                .build();
+    }
+
+    private static void complete(int status) {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,62 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class TaskExpiryWheelTest {
+
+    private TaskExpiryWheel wheel;
+    private Instant now;
+
+    @BeforeEach
+    public void setUp() {
+        wheel = new TaskExpiryWheel(mock(TaskRepository.class), mock(TaskService.class), Duration.ofSeconds(1), 60);
+        now = Instant.now();
+    }
+
+    @Test
+    public void advanceReturnsTaskOnlyOnceItsDeadlinePassed() {
+        wheel.schedule(1, at(now.plusSeconds(10)));
+
+        assertTrue(wheel.advance(now.plusSeconds(9)).isEmpty());
+        assertEquals(List.of(1), wheel.advance(now.plusSeconds(11)));
+        assertTrue(wheel.advance(now.plusSeconds(12)).isEmpty());
+    }
+
+    @Test
+    public void advanceReturnsOverdueTaskWithNextTick() {
+        wheel.schedule(1, at(now.minusSeconds(30)));
+
+        assertEquals(List.of(1), wheel.advance(now.plusSeconds(1)));
+    }
+
+    @Test
+    public void scheduleIgnoresDeadlinesBeyondHorizon() {
+        wheel.schedule(1, at(now.plus(wheel.horizon()).plusSeconds(5)));
+
+        assertTrue(wheel.advance(now.plus(wheel.horizon()).plusSeconds(10)).isEmpty());
+    }
+
+    @Test
+    public void advanceAfterLongPauseDrainsEveryBucket() {
+        wheel.schedule(1, at(now.plusSeconds(5)));
+        wheel.schedule(2, at(now.plusSeconds(50)));
+
+        assertEquals(List.of(1, 2), wheel.advance(now.plusSeconds(600)).stream().sorted().toList());
+    }
+
+    private LocalDateTime at(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
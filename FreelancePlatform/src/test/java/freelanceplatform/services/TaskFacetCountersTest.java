@@ -0,0 +1,72 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.dto.TaskFacet;
+import freelanceplatform.dto.TaskFacetCount;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaskFacetCountersTest {
+
+    private static final TaskFacet UNASSIGNED = new TaskFacet(TaskType.DigitalMarketing, TaskStatus.UNASSIGNED, false);
+    private static final TaskFacet ASSIGNED = new TaskFacet(TaskType.DigitalMarketing, TaskStatus.ASSIGNED, false);
+
+    private TaskRepository taskRepo;
+    private TaskFacetCounters counters;
+
+    @BeforeEach
+    public void setUp() {
+        taskRepo = mock(TaskRepository.class);
+        counters = new TaskFacetCounters(taskRepo);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    public void transitionIsCountedOnlyAfterCommit() {
+        counters.transition(null, UNASSIGNED);
+
+        assertEquals(0, unassigned());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1, unassigned());
+    }
+
+    @Test
+    public void reconcileBetweenTransitionAndRollbackLeavesDatabaseCounts() {
+        when(taskRepo.countOpenByTypeAndStatus(any()))
+                .thenReturn(List.of(new TaskFacetCount(TaskType.DigitalMarketing, TaskStatus.UNASSIGNED, 3)));
+        counters.transition(UNASSIGNED, ASSIGNED);
+
+        counters.reconcile();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(3, unassigned());
+        assertEquals(0, counters.facets().statuses().get(TaskStatus.ASSIGNED));
+    }
+
+    private long unassigned() {
+        return counters.facets().statuses().get(TaskStatus.UNASSIGNED);
+    }
+
+    private static void complete(int status) {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
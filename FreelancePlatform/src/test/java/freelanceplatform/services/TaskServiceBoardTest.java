@@ -0,0 +1,169 @@
+package freelanceplatform.services;
+
+import freelanceplatform.data.TaskRepository;
+import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.TaskBoardCursor;
+import freelanceplatform.dto.TaskBoardFacets;
+import freelanceplatform.dto.TaskBoardFilter;
+import freelanceplatform.dto.TaskBoardSort;
+import freelanceplatform.dto.readUpdate.TaskReadUpdate;
+import freelanceplatform.environment.Generator;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.Task;
+import freelanceplatform.model.TaskStatus;
+import freelanceplatform.model.TaskType;
+import freelanceplatform.model.User;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without the test transaction, the task board index and its facet counters only apply a change once it is committed.
+ */
+@ActiveProfiles("services")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskServiceBoardTest extends IntegrationTestBase {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User freelancer;
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        freelancer = Generator.generateUser();
+        freelancer.setRole(Role.USER);
+        users.add(userRepo.save(freelancer));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tasks.forEach(task -> taskService.deleteById(task.getId()));
+        users.forEach(user -> userRepo.deleteById(user.getId()));
+    }
+
+    private Task generateTask() {
+        final Task task = Generator.generateTask();
+        users.add(userRepo.save(task.getCustomer()));
+        return task;
+    }
+
+    private Task post(Task task) {
+        taskService.save(task);
+        tasks.add(task);
+        return task;
+    }
+
+    @Test
+    public void saveAddsTaskToTaskBoard(){
+        Task posted = post(generateTask());
+
+        assertTrue(boardIds(null).contains(posted.getId()));
+        assertTrue(boardIds(TaskType.DigitalMarketing).contains(posted.getId()));
+        assertFalse(boardIds(TaskType.TutoringAndEducation).contains(posted.getId()));
+    }
+
+    @Test
+    public void rolledBackSaveNeverReachesTaskBoard(){
+        Task posted = generateTask();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.save(posted);
+            assertFalse(boardIds(null).contains(posted.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(boardIds(null).contains(posted.getId()));
+    }
+
+    @Test
+    public void assignTakesTaskOffTaskBoard(){
+        Task posted = post(generateTask());
+        assertTrue(boardIds(null).contains(posted.getId()));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> taskService.assignFreelancer(
+                taskRepo.findById(posted.getId()).orElseThrow(), userRepo.findById(freelancer.getId()).orElseThrow()));
+
+        assertFalse(boardIds(null).contains(posted.getId()));
+    }
+
+    @Test
+    public void taskBoardPageContinuesAfterCursor(){
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> posted = List.of(generateTask(), generateTask(), generateTask());
+        for (int i = 0; i < posted.size(); i++) posted.get(i).setPostedDate(now.plusYears(1).plusMinutes(i));
+        taskService.saveAll(posted);
+        tasks.addAll(posted);
+
+        List<TaskReadUpdate> first = taskService.findTaskBoardPage(TaskBoardFilter.byPostedDate(null, true), null, 2);
+        assertEquals(List.of(posted.get(2).getId(), posted.get(1).getId()), first.stream().map(TaskReadUpdate::getId).toList());
+        List<TaskReadUpdate> second = taskService.findTaskBoardPage(TaskBoardFilter.byPostedDate(null, true),
+                TaskBoardCursor.after(TaskBoardSort.POSTED_DATE, first.get(1)), 1);
+        assertEquals(posted.get(0).getId(), second.get(0).getId());
+    }
+
+    @Test
+    public void saveCountsTaskInFacets(){
+        TaskBoardFacets before = taskService.getTaskBoardFacets();
+        post(generateTask());
+
+        TaskBoardFacets after = taskService.getTaskBoardFacets();
+        assertEquals(before.types().get(TaskType.DigitalMarketing) + 1, after.types().get(TaskType.DigitalMarketing));
+        assertEquals(before.statuses().get(TaskStatus.UNASSIGNED) + 1, after.statuses().get(TaskStatus.UNASSIGNED));
+    }
+
+    @Test
+    public void rolledBackSaveIsNotCountedInFacets(){
+        TaskBoardFacets before = taskService.getTaskBoardFacets();
+        Task posted = generateTask();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.save(posted);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, taskService.getTaskBoardFacets());
+    }
+
+    @Test
+    public void assignMovesTaskBetweenStatusFacets(){
+        Task posted = post(generateTask());
+        TaskBoardFacets before = taskService.getTaskBoardFacets();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> taskService.assignFreelancer(
+                taskRepo.findById(posted.getId()).orElseThrow(), userRepo.findById(freelancer.getId()).orElseThrow()));
+
+        TaskBoardFacets after = taskService.getTaskBoardFacets();
+        assertEquals(before.statuses().get(TaskStatus.UNASSIGNED) - 1, after.statuses().get(TaskStatus.UNASSIGNED));
+        assertEquals(before.statuses().get(TaskStatus.ASSIGNED) + 1, after.statuses().get(TaskStatus.ASSIGNED));
+        assertEquals(before.types().get(TaskType.DigitalMarketing), after.types().get(TaskType.DigitalMarketing));
+    }
+
+    private List<Integer> boardIds(TaskType type) {
+        return taskService.findTaskBoardPage(TaskBoardFilter.byPostedDate(type, true), null, Integer.MAX_VALUE).stream().map(TaskReadUpdate::getId).toList();
+    }
+}
@@ -2,6 +2,7 @@ package freelanceplatform.services;
 
 import freelanceplatform.data.TaskRepository;
 import freelanceplatform.data.UserRepository;
+import freelanceplatform.dto.snapshot.TaskSnapshot;
 import freelanceplatform.environment.Generator;
 import freelanceplatform.exceptions.NotFoundException;
 import freelanceplatform.exceptions.ValidationException;
@@ -15,6 +16,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -32,6 +34,9 @@ public class TaskServiceTest extends CacheableTestBase {
     @Autowired
     private TaskRepository taskRepo;
 
+    @Autowired
+    private SnapshotService snapshotService;
+
     @Autowired
     CacheManager cacheManager;
 
@@ -65,12 +70,23 @@ public class TaskServiceTest extends CacheableTestBase {
 
     @Test
     public void testCaching() {
-        taskService.findById(task.getId());
+        snapshotService.findTask(task.getId());
+        snapshotService.findTask(-1);
 
-        Assertions.assertTrue(Optional.ofNullable(cacheManager.getCache("tasks").get(task.getId())).isPresent());
+        Assertions.assertInstanceOf(TaskSnapshot.class, cacheManager.getCache("tasks").get(task.getId()).get());
         Assertions.assertFalse(Optional.ofNullable(cacheManager.getCache("tasks").get(-1)).isPresent());
     }
 
+    @Test
+    public void updateEvictsCachedSnapshot() {
+        snapshotService.findTask(task.getId());
+        task.setTitle("updated title");
+        taskService.update(task);
+
+        Assertions.assertFalse(Optional.ofNullable(cacheManager.getCache("tasks").get(task.getId())).isPresent());
+        assertEquals("updated title", snapshotService.findTask(task.getId()).map(TaskSnapshot::title).orElseThrow());
+    }
+
     @Test
     public void getThrowsNotFoundExceptionIfIdIsWrong(){
         assertThrows(NotFoundException.class, () -> taskService.findById(-1));
@@ -135,6 +151,56 @@ public class TaskServiceTest extends CacheableTestBase {
         assertFalse(freelancer.getTakenTasks().contains(task));
     }
 
+    @Test
+    public void expireMarksOnlyOverdueTasksExpired(){
+        Task overdue = Generator.generateTask();
+        overdue.setDeadline(LocalDateTime.now().minusMinutes(1));
+        userRepo.save(overdue.getCustomer());
+        taskRepo.save(overdue);
+
+        assertEquals(List.of(overdue.getId()), taskService.expire(List.of(overdue.getId(), task.getId())));
+
+        assertTrue(taskRepo.findById(overdue.getId()).map(Task::isExpired).orElseThrow());
+        assertFalse(taskRepo.findById(task.getId()).map(Task::isExpired).orElseThrow());
+    }
+
+    @Test
+    public void expireSkipsTasksAlreadyExpired(){
+        Task overdue = Generator.generateTask();
+        overdue.setDeadline(LocalDateTime.now().minusMinutes(1));
+        userRepo.save(overdue.getCustomer());
+        taskRepo.save(overdue);
+        taskService.expire(List.of(overdue.getId()));
+
+        assertTrue(taskService.expire(List.of(overdue.getId())).isEmpty());
+    }
+
+    @Test
+    public void updateWithFutureDeadlineRevivesExpiredTask(){
+        task.setExpired(true);
+        task.setDeadline(LocalDateTime.now().plusDays(1));
+        taskService.update(task);
+
+        assertFalse(taskRepo.findById(task.getId()).map(Task::isExpired).orElseThrow());
+    }
+
+    @Test
+    public void updateWithPastDeadlineExpiresTask(){
+        task.setDeadline(LocalDateTime.now().minusMinutes(1));
+        final Task updated = taskService.update(task);
+
+        assertTrue(updated.isExpired());
+        assertTrue(taskRepo.findById(task.getId()).map(Task::isExpired).orElseThrow());
+    }
+
+    @Test
+    public void assignFreelancerRejectsExpiredTask(){
+        task.setExpired(true);
+        taskRepo.save(task);
+
+        assertThrows(ValidationException.class, () -> taskService.assignFreelancer(task, freelancer));
+    }
+
     @Override
     protected String getCacheName() {
         return "tasks";
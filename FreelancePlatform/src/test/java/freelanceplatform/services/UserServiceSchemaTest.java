@@ -0,0 +1,61 @@
+package freelanceplatform.services;
+
+import freelanceplatform.environment.Generator;
+import freelanceplatform.exceptions.ValidationException;
+import freelanceplatform.model.Role;
+import freelanceplatform.model.User;
+import freelanceplatform.utils.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Runs the duplicate signup checks against the schema created by the changelogs rather than by Hibernate,
+ * so the unique constraints the database reports are the ones of production.
+ */
+public class UserServiceSchemaTest extends IntegrationTestBase {
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private ExistenceFilters existenceFilters;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = Generator.generateUser();
+        user.setRole(Role.USER);
+        userService.save(user);
+        // as on a node the signup has not been propagated to yet
+        doReturn(false).when(existenceFilters).mightExistUsername(anyString());
+        doReturn(false).when(existenceFilters).mightExistEmail(anyString());
+    }
+
+    @Test
+    public void duplicateUsernameIsRejectedAsValidationError() {
+        final User duplicate = Generator.generateUser();
+        duplicate.setRole(Role.USER);
+        duplicate.setUsername(user.getUsername());
+
+        final ValidationException e = assertThrows(ValidationException.class, () -> userService.save(duplicate));
+        assertEquals("User with this username is already exist", e.getMessage());
+    }
+
+    @Test
+    public void duplicateEmailIsRejectedAsValidationError() {
+        final User duplicate = Generator.generateUser();
+        duplicate.setRole(Role.USER);
+        duplicate.setEmail(user.getEmail());
+
+        final ValidationException e = assertThrows(ValidationException.class, () -> userService.save(duplicate));
+        assertEquals("User with this email is already exist", e.getMessage());
+    }
+}
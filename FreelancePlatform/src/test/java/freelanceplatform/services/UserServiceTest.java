@@ -3,6 +3,7 @@ package freelanceplatform.services;
 import freelanceplatform.data.UserRepository;
 import freelanceplatform.environment.Generator;
 import freelanceplatform.exceptions.NotFoundException;
+import freelanceplatform.exceptions.ValidationException;
 import freelanceplatform.model.Resume;
 import freelanceplatform.model.Role;
 import freelanceplatform.model.User;
@@ -10,11 +11,14 @@ import freelanceplatform.utils.IntegrationTestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
 
 @ActiveProfiles("services")
 public class UserServiceTest extends IntegrationTestBase {
@@ -25,6 +29,9 @@ public class UserServiceTest extends IntegrationTestBase {
     @Autowired
     private UserRepository userRepository;
 
+    @SpyBean
+    private ExistenceFilters existenceFilters;
+
     private User user;
 
     @BeforeEach
@@ -39,6 +46,19 @@ public class UserServiceTest extends IntegrationTestBase {
         assertTrue(userRepository.existsByUsername(user.getUsername()));
     }
 
+    @Test
+    public void duplicateUnknownToFiltersIsRejectedAsValidationError() {
+        userService.save(user);
+        // as on a node the signup has not been propagated to yet
+        doReturn(false).when(existenceFilters).mightExistUsername(anyString());
+        doReturn(false).when(existenceFilters).mightExistEmail(anyString());
+        final User duplicate = Generator.generateUser();
+        duplicate.setRole(Role.USER);
+        duplicate.setUsername(user.getUsername());
+
+        assertThrows(ValidationException.class, () -> userService.save(duplicate));
+    }
+
     @Test
     public void updateUserActuallyUpdates() {
         userService.save(user);
@@ -28,7 +28,7 @@ public abstract class IntegrationTestBase {
     );
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
 
     @Rule
     public EmbeddedKafkaRule embeddedKafka = new EmbeddedKafkaRule(1, true, "test-topic");
@@ -1,7 +1,7 @@
 package notificationService.consumers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import notificationService.events.EventEncoding;
 import notificationService.service.EmailSenderService;
 import notificationService.service.NotificationSender;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -9,6 +9,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+import java.util.function.Function;
+
 
 @Component
 public abstract class ChangesConsumer {
@@ -33,9 +36,22 @@ public abstract class ChangesConsumer {
      * An abstract method to process Kafka messages related to changes in tasks or users.
      *
      * @param record The Kafka {@link ConsumerRecord} containing the message to be processed.
-     *               The message's value is expected to be a JSON string that contains task or user details.
+     *               The message's value is expected to be an encoded event that contains task or user details.
+     *
+     * @throws IOException If there is an error reading a JSON event from the record.
+     */
+    abstract void consumeChange(ConsumerRecord<String, byte[]> record) throws IOException;
+
+    /**
+     * Decodes the value of a record, reading events written as JSON before the binary encoding with the mapper.
      *
-     * @throws JsonProcessingException If there is an error processing the JSON string from the record.
+     * @param payload the value of a record
+     * @param type    the type of the event
+     * @param decoder the decoder of the binary encoding of the event
+     * @return the decoded event
+     * @throws IOException If there is an error reading a JSON event.
      */
-    abstract void consumeChange(ConsumerRecord<String, String> record) throws JsonProcessingException;
+    protected <T> T decode(byte[] payload, Class<T> type, Function<byte[], T> decoder) throws IOException {
+        return EventEncoding.isJson(payload) ? mapper.readValue(payload, type) : decoder.apply(payload);
+    }
 }
@@ -1,9 +1,9 @@
 package notificationService.consumers;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import notificationService.events.TaskEvent;
 import notificationService.notificationStrategies.SendEmailStrategy;
 import notificationService.service.EmailSenderService;
 import notificationService.service.NotificationSender;
@@ -16,6 +16,8 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+
 @Slf4j
 @Component
 public class TaskChangesConsumer extends ChangesConsumer {
@@ -25,32 +27,34 @@ public class TaskChangesConsumer extends ChangesConsumer {
     @Autowired
     public TaskChangesConsumer(ObjectMapper mapper, NotificationSender notificationSender, EmailSenderService emailSenderService, WebClient webClient, UserService userService) {
         super(mapper, notificationSender, emailSenderService, webClient);
-        this.topicsFactory = new TopicsFactory(webClient, emailSenderService, mapper, userService);
+        this.topicsFactory = new TopicsFactory(webClient, emailSenderService, userService);
     }
 
     /**
-     * Consumes messages from specified Kafka topics and processes them.
+     * Consumes messages from specified Kafka topics and processes them. The topics are keyed by task ID, so the
+     * concurrent consumers of the listener each own some partitions and the events of one task arrive in order.
      *
      * @param record the consumed Kafka record
-     * @throws JsonProcessingException if there is an error processing the JSON in the record
+     * @throws IOException if there is an error reading a JSON event from the record
      */
     @KafkaListener(
-            topics = {"task_posted", "freelancer_assigned", "task_accepted", "freelancer_removed", "task_send_on_review"})
-    public void consumeChange(ConsumerRecord<String, String> record) throws JsonProcessingException {
-        String taskJson = record.value();
-        log.info("Received message: {}", taskJson);
+            topics = {"task_posted", "freelancer_assigned", "task_accepted", "freelancer_removed", "task_send_on_review",
+                    "task_expired"},
+            concurrency = "${notifications.listener.concurrency:6}")
+    public void consumeChange(ConsumerRecord<String, byte[]> record) throws IOException {
         String topic = record.topic();
+        TaskEvent event = decode(record.value(), TaskEvent.class, TaskEvent::decode);
+        log.debug("Received {} event of task {}", topic, event.id());
+        if (event.version() > TaskEvent.SUPPORTED_VERSION)
+            log.warn("Task event version {} is newer than {}, reading known fields", event.version(), TaskEvent.SUPPORTED_VERSION);
         TaskTopicsTypes topicType = TaskTopicsTypes.valueOf(topic.toUpperCase());
-        String taskTitle = mapper.readTree(taskJson).get("title").asText();
-        String freelancerUsername = "";
-
-        if (!mapper.readTree(taskJson).get("freelancer").asText().equals("null"))
-            freelancerUsername = mapper.readTree(taskJson).get("freelancer").get("username").asText();
+        String taskTitle = event.title();
+        String freelancerUsername = event.freelancer() == null ? "" : event.freelancer().username();
 
         SendEmailStrategy sendEmailStrategy = topicsFactory.createStrategy(topicType);
-        notificationSender.setStrategy(sendEmailStrategy);
         notificationSender.sendEmail(
-                taskJson,
+                sendEmailStrategy,
+                event,
                 null,
                 topicsFactory.createSubject(topicType),
                 topicsFactory.createBody(topicType, taskTitle, freelancerUsername)
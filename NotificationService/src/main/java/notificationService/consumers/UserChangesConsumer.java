@@ -1,8 +1,8 @@
 package notificationService.consumers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import notificationService.events.UserEvent;
 import notificationService.notificationStrategies.SendEmailStrategy;
 import notificationService.service.EmailSenderService;
 import notificationService.service.NotificationSender;
@@ -13,6 +13,8 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.IOException;
+
 @Slf4j
 @Component
 public class UserChangesConsumer extends ChangesConsumer {
@@ -21,32 +23,35 @@ public class UserChangesConsumer extends ChangesConsumer {
 
     public UserChangesConsumer(ObjectMapper mapper, NotificationSender notificationSender, EmailSenderService emailSenderService, WebClient webClient) {
         super(mapper, notificationSender, emailSenderService, webClient);
-        this.userTopicsFactory = new UserTopicsFactory(webClient, emailSenderService, mapper);
+        this.userTopicsFactory = new UserTopicsFactory(webClient, emailSenderService);
     }
 
     /**
      * Consumes messages from Kafka topics related to user changes and sends an email notification
-     * based on the type of change.
+     * based on the type of change. The topics are keyed by user ID, so the events of one user arrive in order.
      *
      * @param record The Kafka {@link ConsumerRecord} containing the message to be processed.
-     *               The message's value is expected to be a JSON string representing user details.
-     * @throws JsonProcessingException If there is an error processing the JSON string from the record.
+     *               The message's value is expected to be an encoded {@link UserEvent}.
+     * @throws IOException If there is an error reading a JSON event from the record.
      */
     @KafkaListener(
-            topics = {"user_created", "user_updated", "user_deleted"}
+            topics = {"user_created", "user_updated", "user_deleted"},
+            concurrency = "${notifications.listener.concurrency:6}"
     )
-    public void consumeChange(ConsumerRecord<String, String> record) throws JsonProcessingException {
-        String userJson = record.value();
-        log.info("Received message: {}", userJson);
+    public void consumeChange(ConsumerRecord<String, byte[]> record) throws IOException {
         String topic = record.topic();
+        UserEvent event = decode(record.value(), UserEvent.class, UserEvent::decode);
+        log.debug("Received {} event of user {}", topic, event.id());
+        if (event.version() > UserEvent.SUPPORTED_VERSION)
+            log.warn("User event version {} is newer than {}, reading known fields", event.version(), UserEvent.SUPPORTED_VERSION);
         UserTopicsTypes topicType = UserTopicsTypes.fromTopicName(topic);
-        String username = mapper.readTree(userJson).get("username").asText();
+        String username = event.username();
 
         SendEmailStrategy sendEmailStrategy = userTopicsFactory.createStrategy(topicType);
-        notificationSender.setStrategy(sendEmailStrategy);
         notificationSender.sendEmail(
+                sendEmailStrategy,
                 null,
-                userJson,
+                event,
                 userTopicsFactory.createSubject(topicType),
                 userTopicsFactory.createBody(topicType, username)
         );
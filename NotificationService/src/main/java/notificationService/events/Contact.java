@@ -0,0 +1,14 @@
+package notificationService.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The contact fields of a user carried by an event.
+ *
+ * @param id       id of the user
+ * @param username username of the user
+ * @param email    email of the user
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Contact(Integer id, String username, String email) {
+}
@@ -0,0 +1,63 @@
+package notificationService.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the binary encoding of the events published by the platform.
+ *
+ * <p>An event starts with one byte holding the version of its schema, followed by its fields in declaration order.
+ * A nullable field starts with a presence byte; strings are written as their UTF-8 length and bytes, dates as UTC
+ * epoch seconds and nanos. Newer versions only append fields, so the bytes after the known fields are ignored.
+ * Events written before the binary encoding are JSON and start with {@code '{'}, which no version byte takes.</p>
+ */
+public final class EventEncoding {
+
+    /**
+     * Reads the fields of an event after its version byte.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(int version, DataInputStream in) throws IOException;
+    }
+
+    private EventEncoding() {
+    }
+
+    /**
+     * @param payload the value of a record
+     * @return whether the payload is a JSON event written before the binary encoding
+     */
+    public static boolean isJson(byte[] payload) {
+        return payload.length > 0 && payload[0] == '{';
+    }
+
+    static <T> T decode(byte[] payload, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return reader.read(in.readUnsignedByte(), in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed event payload", e);
+        }
+    }
+
+    static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void skipDateTime(DataInputStream in) throws IOException {
+        if (in.readBoolean()) in.skipNBytes(Long.BYTES + Integer.BYTES);
+    }
+
+    static Contact readContact(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new Contact(readInteger(in), readString(in), readString(in)) : null;
+    }
+}
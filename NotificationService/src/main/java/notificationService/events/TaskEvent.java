@@ -0,0 +1,40 @@
+package notificationService.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import static notificationService.events.EventEncoding.*;
+
+/**
+ * Event consumed in the binary encoding of {@link EventEncoding} from every task topic. Fields this service does not
+ * use are skipped; the JSON mapping reads events written before the binary encoding.
+ *
+ * @param version    version of the event schema
+ * @param id         id of the task
+ * @param title      title of the task
+ * @param status     status of the task
+ * @param customer   customer who posted the task
+ * @param freelancer assigned freelancer, or null
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TaskEvent(int version, Integer id, String title, String status, Contact customer, Contact freelancer) {
+
+    /**
+     * Newest version of the schema this service knows. Newer versions only append fields and are read all the same.
+     */
+    public static final int SUPPORTED_VERSION = 1;
+
+    /**
+     * @param payload an event in the binary encoding
+     * @return the decoded event
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static TaskEvent decode(byte[] payload) {
+        return EventEncoding.decode(payload, (version, in) -> {
+            final Integer id = readInteger(in);
+            final String title = readString(in);
+            final String status = readString(in);
+            skipDateTime(in);
+            return new TaskEvent(version, id, title, status, readContact(in), readContact(in));
+        });
+    }
+}
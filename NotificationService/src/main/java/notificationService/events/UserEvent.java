@@ -0,0 +1,33 @@
+package notificationService.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import static notificationService.events.EventEncoding.*;
+
+/**
+ * Event consumed in the binary encoding of {@link EventEncoding} from every user topic. Fields this service does not
+ * use are skipped; the JSON mapping reads events written before the binary encoding.
+ *
+ * @param version  version of the event schema
+ * @param id       id of the user
+ * @param username username of the user
+ * @param email    email of the user
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserEvent(int version, Integer id, String username, String email) {
+
+    /**
+     * Newest version of the schema this service knows. Newer versions only append fields and are read all the same.
+     */
+    public static final int SUPPORTED_VERSION = 1;
+
+    /**
+     * @param payload an event in the binary encoding
+     * @return the decoded event
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static UserEvent decode(byte[] payload) {
+        return EventEncoding.decode(payload, (version, in) ->
+                new UserEvent(version, readInteger(in), readString(in), readString(in)));
+    }
+}
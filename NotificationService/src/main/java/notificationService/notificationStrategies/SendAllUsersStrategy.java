@@ -1,6 +1,7 @@
 package notificationService.notificationStrategies;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import notificationService.events.TaskEvent;
+import notificationService.events.UserEvent;
 import notificationService.service.EmailSenderService;
 import notificationService.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +17,8 @@ public class SendAllUsersStrategy extends SendEmailStrategy{
     private final UserService userService;
 
     @Autowired
-    public SendAllUsersStrategy(WebClient webClient, EmailSenderService emailSender, ObjectMapper mapper, UserService userService) {
-        super(webClient, emailSender, mapper);
+    public SendAllUsersStrategy(WebClient webClient, EmailSenderService emailSender, UserService userService) {
+        super(webClient, emailSender);
         this.userService = userService;
     }
 
@@ -28,13 +29,13 @@ public class SendAllUsersStrategy extends SendEmailStrategy{
      * and for each email address in the list, it sends an email with the provided
      * subject and body. The email sending is handled by the {@code emailSender}.</p>
      *
-     * @param taskJson a JSON string representing task-related data (not used in this implementation)
-     * @param userJson a JSON string representing user-related data (not used in this implementation)
+     * @param task the task event (not used in this implementation)
+     * @param user the user event (not used in this implementation)
      * @param subject the subject of the email
      * @param body the body of the email
      */
     @Override
-    public void sendEmail(String taskJson, String userJson , String subject, String body) {
+    public void sendEmail(TaskEvent task, UserEvent user, String subject, String body) {
         List<String> toEmails = userService.getAllUserEmails();
 
         if (toEmails != null) {
@@ -1,7 +1,7 @@
 package notificationService.notificationStrategies;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import notificationService.events.TaskEvent;
+import notificationService.events.UserEvent;
 import notificationService.service.EmailSenderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -15,27 +15,20 @@ public abstract class SendEmailStrategy {
 
     protected final EmailSenderService emailSender;
 
-    protected final ObjectMapper mapper;
-
     @Autowired
-    public SendEmailStrategy(WebClient webClient, EmailSenderService emailSender, ObjectMapper mapper) {
+    public SendEmailStrategy(WebClient webClient, EmailSenderService emailSender) {
         this.webClient = webClient;
         this.emailSender = emailSender;
-        this.mapper = mapper;
     }
 
     /**
-     * Sends an email with the specified subject and body based on provided JSON data.
+     * Sends an email with the specified subject and body based on the consumed event.
      *
-     * @param taskJson a JSON string representing task-related data. The specific structure
-     *                 and the path to the email address within this JSON should be defined
-     *                 by the concrete implementation.
-     * @param userJson a JSON string representing user-related data. The specific structure
-     *                 and the path to the email address within this JSON should be defined
-     *                 by the concrete implementation.
+     * @param task the task event, or null for a user event. Which contact of the task
+     *             receives the email is defined by the concrete implementation.
+     * @param user the user event, or null for a task event.
      * @param subject the subject of the email.
      * @param body the body of the email.
-     * @throws JsonProcessingException if there is an error processing the JSON data.
      */
-    public abstract void sendEmail(String taskJson, String userJson , String subject, String body) throws JsonProcessingException;
+    public abstract void sendEmail(TaskEvent task, UserEvent user, String subject, String body);
 }
@@ -1,35 +1,31 @@
 package notificationService.notificationStrategies;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import notificationService.events.TaskEvent;
+import notificationService.events.UserEvent;
 import notificationService.service.EmailSenderService;
 import org.springframework.web.reactive.function.client.WebClient;
 
 public class SendFreelancerStrategy extends SendEmailStrategy {
 
-    public SendFreelancerStrategy(WebClient webClient, EmailSenderService emailSender, ObjectMapper mapper) {
-        super(webClient, emailSender, mapper);
+    public SendFreelancerStrategy(WebClient webClient, EmailSenderService emailSender) {
+        super(webClient, emailSender);
     }
 
     /**
-     * Sends an email to the specified recipients based on the provided JSON data, subject, and body.
+     * Sends an email to the specified recipients based on the provided event, subject, and body.
      *
-     * @param taskJson JSON string representing task details which includes the email address of a freelancer.
-     * @param userJson JSON string representing user details which includes the email address of a user.
+     * @param task task event carrying the contact of the freelancer, who receives the email if assigned.
+     * @param user user event carrying the contact of the user.
      * @param subject The subject of the email to be sent.
      * @param body The body content of the email to be sent.
-     *
-     * @throws JsonProcessingException If there is an error processing the JSON input.
      */
     @Override
-    public void sendEmail(String taskJson, String userJson , String subject, String body) throws JsonProcessingException {
-        if (taskJson!=null){
-            String toEmail = mapper.readTree(taskJson).get("freelancer").get("email").asText();
-            emailSender.sendEmail(toEmail, subject, body);
+    public void sendEmail(TaskEvent task, UserEvent user, String subject, String body) {
+        if (task!=null && task.freelancer()!=null){
+            emailSender.sendEmail(task.freelancer().email(), subject, body);
         }
-        if (userJson!=null){
-            String toEmail = mapper.readTree(userJson).get("email").asText();
-            emailSender.sendEmail(toEmail, subject, body);
+        if (user!=null){
+            emailSender.sendEmail(user.email(), subject, body);
         }
     }
 }
@@ -5,7 +5,8 @@ public enum TaskTopicsTypes {
     FREELANCER_ASSIGNED("freelancer_assigned"),
     TASK_ACCEPTED("task_accepted"),
     FREELANCER_REMOVED("freelancer_removed"),
-    TASK_SEND_ON_REVIEW("task_send_on_review");
+    TASK_SEND_ON_REVIEW("task_send_on_review"),
+    TASK_EXPIRED("task_expired");
 
     private final String topicName;
 
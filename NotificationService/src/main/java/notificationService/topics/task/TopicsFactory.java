@@ -1,6 +1,5 @@
 package notificationService.topics.task;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import notificationService.notificationStrategies.SendAllUsersStrategy;
 import notificationService.notificationStrategies.SendCustomerStrategy;
@@ -15,7 +14,6 @@ public class TopicsFactory {
 
     private final WebClient webClient;
     private final EmailSenderService emailSenderService;
-    private final ObjectMapper mapper;
     private final UserService userService;
 
     /**
@@ -26,9 +24,9 @@ public class TopicsFactory {
      */
     public SendEmailStrategy createStrategy(TaskTopicsTypes topicType) {
         return switch (topicType) {
-            case TASK_POSTED -> new SendAllUsersStrategy(webClient, emailSenderService, mapper, userService);
-            case FREELANCER_ASSIGNED, TASK_ACCEPTED, FREELANCER_REMOVED -> new SendFreelancerStrategy(webClient, emailSenderService, mapper);
-            case TASK_SEND_ON_REVIEW -> new SendCustomerStrategy(webClient, emailSenderService, mapper);
+            case TASK_POSTED -> new SendAllUsersStrategy(webClient, emailSenderService, userService);
+            case FREELANCER_ASSIGNED, TASK_ACCEPTED, FREELANCER_REMOVED -> new SendFreelancerStrategy(webClient, emailSenderService);
+            case TASK_SEND_ON_REVIEW, TASK_EXPIRED -> new SendCustomerStrategy(webClient, emailSenderService);
             default -> throw new IllegalArgumentException("Unsupported topic type: " + topicType);
         };
     }
@@ -46,6 +44,7 @@ public class TopicsFactory {
             case TASK_ACCEPTED -> "Congratulations! One of your completed tasks has been accepted";
             case FREELANCER_REMOVED -> "We are sorry! You were removed as task assignee!";
             case TASK_SEND_ON_REVIEW -> "One of your tasks was sent on review!";
+            case TASK_EXPIRED -> "One of your tasks has expired";
             default -> throw new IllegalArgumentException("Unsupported topic type: " + topicType);
         };
     }
@@ -65,6 +64,9 @@ public class TopicsFactory {
             case TASK_ACCEPTED -> String.format("We are pleased to inform you that one of your completed tasks '%s' has been accepted by the customer.", taskTitle);
             case FREELANCER_REMOVED -> String.format("We are sorry to inform you that you were removed as task assignee from task '%s'", taskTitle);
             case TASK_SEND_ON_REVIEW -> String.format("We wanted to inform you that the freelancer '%s' has submitted the task '%s' for your review", freelancerUsername, taskTitle);
+            case TASK_EXPIRED -> freelancerUsername == null || freelancerUsername.isEmpty()
+                    ? String.format("The deadline of your task '%s' has passed and the task is no longer offered to freelancers.", taskTitle)
+                    : String.format("The deadline of your task '%s' has passed. The task stays assigned to the freelancer '%s'.", taskTitle, freelancerUsername);
             default -> throw new IllegalArgumentException("Unsupported topic type: " + topicType);
         };
     }
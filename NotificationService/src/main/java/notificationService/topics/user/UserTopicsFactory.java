@@ -1,6 +1,5 @@
 package notificationService.topics.user;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import notificationService.notificationStrategies.SendEmailStrategy;
 import notificationService.notificationStrategies.SendCustomerStrategy;
@@ -12,7 +11,6 @@ public class UserTopicsFactory {
 
     private final WebClient webClient;
     private final EmailSenderService emailSenderService;
-    private final ObjectMapper mapper;
 
     /**
      * Creates a strategy for sending emails based on the user topic type.
@@ -21,7 +19,7 @@ public class UserTopicsFactory {
      * @return the SendEmailStrategy corresponding to the given user topic type
      */
     public SendEmailStrategy createStrategy(UserTopicsTypes topicType) {
-        return new SendCustomerStrategy(webClient, emailSenderService, mapper);
+        return new SendCustomerStrategy(webClient, emailSenderService);
     }
 
     /**